@@ -0,0 +1,72 @@
+package com.vzome.core.algebra;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class AlgebraicMatrixBenchmark
+{
+    @Param( { "golden", "rootTwo", "rootThree", "heptagon", "snubDodec" } )
+    public String fieldName;
+
+    @Param( { "SMALL", "POWERS", "OVERFLOW" } )
+    public Operands.Mix mix;
+
+    @Param( { "3", "4" } )
+    public int dims;
+
+    private AlgebraicMatrix[] left, right;
+    private AlgebraicVector[] vectors;
+    private int index;
+
+    @Setup
+    public void setup()
+    {
+        AlgebraicField field = Operands .field( this .fieldName );
+        this .left = Operands .matrices( field, this .mix, this .dims, 1 );
+        this .right = Operands .matrices( field, this .mix, this .dims, 2 );
+        this .vectors = Operands .vectors( field, this .mix, this .dims, 3 );
+    }
+
+    private int next()
+    {
+        return this .index = ( this .index + 1 ) & ( Operands.COUNT - 1 );
+    }
+
+    @Benchmark
+    public AlgebraicVector timesColumn()
+    {
+        int i = next();
+        return this .left[ i ] .timesColumn( this .vectors[ i ] );
+    }
+
+    @Benchmark
+    public AlgebraicMatrix times()
+    {
+        int i = next();
+        return this .left[ i ] .times( this .right[ i ] );
+    }
+
+    @Benchmark
+    public AlgebraicMatrix inverse()
+    {
+        int i = next();
+        return this .left[ i ] .inverse();
+    }
+}
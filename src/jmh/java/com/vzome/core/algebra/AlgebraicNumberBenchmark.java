@@ -0,0 +1,96 @@
+package com.vzome.core.algebra;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class AlgebraicNumberBenchmark
+{
+    @Param( { "golden", "rootTwo", "rootThree", "heptagon", "snubDodec" } )
+    public String fieldName;
+
+    @Param( { "SMALL", "POWERS", "OVERFLOW" } )
+    public Operands.Mix mix;
+
+    private AlgebraicNumber[] left, right;
+    private int index;
+
+    @Setup
+    public void setup()
+    {
+        AlgebraicField field = Operands .field( this .fieldName );
+        this .left = Operands .numbers( field, this .mix, 1 );
+        this .right = Operands .numbers( field, this .mix, 2 );
+    }
+
+    private int next()
+    {
+        return this .index = ( this .index + 1 ) & ( Operands.COUNT - 1 );
+    }
+
+    @Benchmark
+    public AlgebraicNumber plus()
+    {
+        int i = next();
+        return this .left[ i ] .plus( this .right[ i ] );
+    }
+
+    @Benchmark
+    public AlgebraicNumber times()
+    {
+        int i = next();
+        return this .left[ i ] .times( this .right[ i ] );
+    }
+
+    /**
+     * Includes a reciprocal of a value that is usually not in the field's reciprocal cache.
+     */
+    @Benchmark
+    public AlgebraicNumber dividedBy()
+    {
+        int i = next();
+        return this .left[ i ] .dividedBy( this .right[ i ] .plus( this .left[ i ] ) .plus( this .right[ i ] ) );
+    }
+
+    /**
+     * The operands cycle through fewer values than the field's reciprocal cache holds,
+     * so this measures the cached path.
+     */
+    @Benchmark
+    public AlgebraicNumber reciprocal()
+    {
+        int i = next();
+        return this .left[ i ] .reciprocal();
+    }
+
+    @Benchmark
+    public int compareTo()
+    {
+        int i = next();
+        return this .left[ i ] .compareTo( this .right[ i ] );
+    }
+
+    @Benchmark
+    public double evaluate()
+    {
+        int i = next();
+        // a fresh number each time, so the cached value is not what gets measured
+        return this .left[ i ] .plus( this .right[ i ] ) .evaluate();
+    }
+}
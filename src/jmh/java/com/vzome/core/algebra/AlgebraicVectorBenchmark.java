@@ -0,0 +1,76 @@
+package com.vzome.core.algebra;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class AlgebraicVectorBenchmark
+{
+    @Param( { "golden", "rootTwo", "rootThree", "heptagon", "snubDodec" } )
+    public String fieldName;
+
+    @Param( { "SMALL", "POWERS", "OVERFLOW" } )
+    public Operands.Mix mix;
+
+    private AlgebraicVector[] left, right;
+    private AlgebraicNumber[] scales;
+    private int index;
+
+    @Setup
+    public void setup()
+    {
+        AlgebraicField field = Operands .field( this .fieldName );
+        this .left = Operands .vectors( field, this .mix, 3, 1 );
+        this .right = Operands .vectors( field, this .mix, 3, 2 );
+        this .scales = Operands .numbers( field, this .mix, 3 );
+    }
+
+    private int next()
+    {
+        return this .index = ( this .index + 1 ) & ( Operands.COUNT - 1 );
+    }
+
+    @Benchmark
+    public AlgebraicVector plus()
+    {
+        int i = next();
+        return this .left[ i ] .plus( this .right[ i ] );
+    }
+
+    @Benchmark
+    public AlgebraicVector scale()
+    {
+        int i = next();
+        return this .left[ i ] .scale( this .scales[ i ] );
+    }
+
+    @Benchmark
+    public AlgebraicNumber dot()
+    {
+        int i = next();
+        return this .left[ i ] .dot( this .right[ i ] );
+    }
+
+    @Benchmark
+    public AlgebraicVector cross()
+    {
+        int i = next();
+        return this .left[ i ] .cross( this .right[ i ] );
+    }
+}
@@ -0,0 +1,70 @@
+package com.vzome.core.algebra;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class BigRationalBenchmark
+{
+    @Param( { "SMALL", "POWERS", "OVERFLOW" } )
+    public Operands.Mix mix;
+
+    private BigRational[] left, right;
+    private int index;
+
+    @Setup
+    public void setup()
+    {
+        this .left = Operands .rationals( this .mix, 1 );
+        this .right = Operands .rationals( this .mix, 2 );
+    }
+
+    private int next()
+    {
+        return this .index = ( this .index + 1 ) & ( Operands.COUNT - 1 );
+    }
+
+    @Benchmark
+    public BigRational plus()
+    {
+        int i = next();
+        return this .left[ i ] .plus( this .right[ i ] );
+    }
+
+    @Benchmark
+    public BigRational times()
+    {
+        int i = next();
+        return this .left[ i ] .times( this .right[ i ] );
+    }
+
+    @Benchmark
+    public BigRational reciprocal()
+    {
+        int i = next();
+        return this .left[ i ] .isZero()? this .left[ i ] : this .left[ i ] .reciprocal();
+    }
+
+    @Benchmark
+    public int compareTo()
+    {
+        int i = next();
+        return this .left[ i ] .compareTo( this .right[ i ] );
+    }
+}
@@ -0,0 +1,142 @@
+package com.vzome.core.algebra;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+/**
+ * Operand distributions shared by the arithmetic benchmarks.
+ * Each mix is deterministic, so runs are comparable across builds.
+ */
+public final class Operands
+{
+    static final int COUNT = 64; // a power of two, so benchmarks can cycle with a mask
+
+    /**
+     * SMALL: small integers and simple fractions, like most hand-built models.
+     * POWERS: orbit scales, from createPower( -6 ) to createPower( 6 ), with small rational multipliers.
+     * OVERFLOW: values whose integer form does not fit in a long.
+     */
+    public enum Mix { SMALL, POWERS, OVERFLOW }
+
+    private Operands() {}
+
+    static AlgebraicField field( String name )
+    {
+        switch ( name ) {
+        case "golden":    return new PentagonField();
+        case "rootTwo":   return new RootTwoField();
+        case "rootThree": return new RootThreeField();
+        case "heptagon":  return new HeptagonField();
+        case "snubDodec": return new SnubDodecField( new PentagonField() );
+        default:
+            throw new IllegalArgumentException( "unknown field: " + name );
+        }
+    }
+
+    static BigRational[] rationals( Mix mix, long seed )
+    {
+        Random random = new Random( seed );
+        BigRational[] result = new BigRational[ COUNT ];
+        for ( int i = 0; i < COUNT; i++ ) {
+            result[ i ] = rational( mix, random );
+        }
+        return result;
+    }
+
+    static AlgebraicNumber[] numbers( AlgebraicField field, Mix mix, long seed )
+    {
+        Random random = new Random( seed );
+        AlgebraicNumber[] result = new AlgebraicNumber[ COUNT ];
+        for ( int i = 0; i < COUNT; i++ ) {
+            result[ i ] = number( field, mix, random );
+        }
+        return result;
+    }
+
+    static AlgebraicVector[] vectors( AlgebraicField field, Mix mix, int dims, long seed )
+    {
+        Random random = new Random( seed );
+        AlgebraicVector[] result = new AlgebraicVector[ COUNT ];
+        for ( int i = 0; i < COUNT; i++ ) {
+            AlgebraicNumber[] coords = new AlgebraicNumber[ dims ];
+            for ( int j = 0; j < dims; j++ ) {
+                coords[ j ] = number( field, mix, random );
+            }
+            result[ i ] = new AlgebraicVector( coords );
+        }
+        return result;
+    }
+
+    /**
+     * Invertible matrices only, since inverse() is one of the measured operations.
+     * With OVERFLOW entries a singular matrix is vanishingly unlikely, and checking is expensive.
+     */
+    static AlgebraicMatrix[] matrices( AlgebraicField field, Mix mix, int dims, long seed )
+    {
+        Random random = new Random( seed );
+        AlgebraicMatrix[] result = new AlgebraicMatrix[ COUNT ];
+        AlgebraicVector[] columns = new AlgebraicVector[ dims ];
+        for ( int i = 0; i < COUNT; ) {
+            for ( int j = 0; j < dims; j++ ) {
+                AlgebraicNumber[] coords = new AlgebraicNumber[ dims ];
+                for ( int k = 0; k < dims; k++ ) {
+                    coords[ k ] = number( field, mix, random );
+                }
+                columns[ j ] = new AlgebraicVector( coords );
+            }
+            AlgebraicMatrix matrix = new AlgebraicMatrix( columns );
+            if ( mix == Mix.OVERFLOW || matrix .times( matrix .inverse() ) .equals( new AlgebraicMatrix( field, dims ) ) )
+                result[ i++ ] = matrix;
+        }
+        return result;
+    }
+
+    private static BigRational rational( Mix mix, Random random )
+    {
+        switch ( mix ) {
+        case OVERFLOW:
+            // just past the range of a long, so the first operation already needs BigInteger
+            return new BigRational( new BigInteger( 66, random ) .setBit( 64 ) .multiply( BigInteger .valueOf( random .nextBoolean()? 1 : -1 ) ), new BigInteger( 12, random ) .setBit( 0 ) );
+        case POWERS:
+            // the rational parts of golden powers: Fibonacci-sized numerators
+            return new BigRational( fibonacci( random .nextInt( 30 ) ) * ( random .nextBoolean()? 1 : -1 ), 1 + random .nextInt( 4 ) );
+        default:
+            return new BigRational( random .nextInt( 21 ) - 10, 1 + random .nextInt( 3 ) );
+        }
+    }
+
+    private static AlgebraicNumber number( AlgebraicField field, Mix mix, Random random )
+    {
+        int order = field .getOrder();
+        switch ( mix ) {
+        case OVERFLOW: {
+            BigRational[] factors = new BigRational[ order ];
+            for ( int k = 0; k < order; k++ ) {
+                factors[ k ] = rational( mix, random );
+            }
+            return field .createAlgebraicNumber( factors );
+        }
+        case POWERS:
+            return field .createPower( random .nextInt( 13 ) - 6 ) .times( field .createRational( 1 + random .nextInt( 5 ), 1 + random .nextInt( 2 ) ) );
+        default: {
+            int[] terms = new int[ order ];
+            for ( int k = 0; k < order; k++ ) {
+                terms[ k ] = random .nextInt( 11 ) - 5;
+            }
+            AlgebraicNumber n = field .createAlgebraicNumber( terms );
+            return n .isZero()? field .one() : n;
+        }
+        }
+    }
+
+    private static long fibonacci( int n )
+    {
+        long a = 0, b = 1;
+        for ( int i = 0; i < n; i++ ) {
+            long c = a + b;
+            a = b;
+            b = c;
+        }
+        return a;
+    }
+}
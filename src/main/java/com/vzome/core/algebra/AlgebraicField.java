@@ -2,14 +2,26 @@
 
 package com.vzome.core.algebra;
 
-import java.util.ArrayList;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.StringTokenizer;
 
+/**
+ * An AlgebraicField is immutable once constructed, apart from caches that are safe
+ * for concurrent use, so one instance can be shared by any number of threads,
+ * as it is by all the DocumentModels of an Application.
+ */
 public abstract class AlgebraicField
 {
     public abstract AlgebraicNumber getDefaultStrutScaling();
 
-    abstract BigRational[] multiply( BigRational[] v1, BigRational[] v2 );
+    /**
+     * The hand-written product, now used only as a reference in tests;
+     * multiply( BigRational[], BigRational[] ) uses the structure constants instead.
+     */
+    abstract BigRational[] referenceMultiply( BigRational[] v1, BigRational[] v2 );
 
     abstract double evaluateNumber( BigRational[] factors );
 
@@ -37,32 +49,81 @@ public abstract class AlgebraicField
 
     private final AlgebraicNumber zero = this .createRational( 0 );
 
-    private AlgebraicField subfield = null;
+    private final AlgebraicField subfield;
+
+    /**
+     * Positive and negative powers of the first irrational, indexed by the absolute value of the power.
+     * These arrays are copy-on-write, so createPower() needs no locking:
+     * two threads may extend the same array at once, but they compute equal values.
+     */
+    private volatile AlgebraicNumber[] positivePowers, negativePowers;
+
+    /**
+     * Structure constants for the integer form of AlgebraicNumber:
+     * multiplicationTable[ i ][ j ][ k ] is the coefficient of the k-th irrational
+     * in the product of the i-th and j-th irrationals.
+     */
+    private final long[][][] multiplicationTable;
+
+    /**
+     * The real value of each irrational, for evaluating the integer form of AlgebraicNumber.
+     */
+    private final double[] irrationalValues;
+
+    private static final int RECIPROCAL_CACHE_SIZE = 64;
 
     /**
-     * Positive powers of the first irrational.
+     * Recently inverted numbers, least recently used first; guarded by itself.
+     * The same few values, like orbit unit lengths, are inverted over and over.
      */
-    private final ArrayList<AlgebraicNumber> positivePowers = new ArrayList<>( 8 );
+    private final Map<AlgebraicNumber, AlgebraicNumber> reciprocals = new LinkedHashMap<AlgebraicNumber, AlgebraicNumber>( 2 * RECIPROCAL_CACHE_SIZE, 0.75f, true )
+    {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry( Map.Entry<AlgebraicNumber, AlgebraicNumber> eldest )
+        {
+            return this .size() > RECIPROCAL_CACHE_SIZE;
+        }
+    };
 
     /**
-     * Negative powers of the first irrational.
+     * Created on first use, since most fields never need an exact sign.
      */
-    private final ArrayList<AlgebraicNumber> negativePowers = new ArrayList<>( 8 );
+    private volatile MinimalPolynomial minimalPolynomial;
 
     public AlgebraicField( String name )
     {
-        this.name = name;
-        this.positivePowers .add( this .one );
-        this.negativePowers .add( this .one );
-        AlgebraicNumber firstIrrat = this .createAlgebraicNumber( 0, 1 );
-        this.positivePowers .add( firstIrrat );
-        this.negativePowers .add( firstIrrat .reciprocal() );
+        this( name, null );
     }
 
     public AlgebraicField( String name, AlgebraicField subfield )
     {
-        this( name );
-        this .subfield  = subfield;
+        this.name = name;
+        this.subfield = subfield;
+        int order = this .getOrder();
+        this.multiplicationTable = new long[ order ][ order ][];
+        this.irrationalValues = new double[ order ];
+        for ( int i = 0; i < order; i++ ) {
+            BigRational[] unit = new BigRational[ order ];
+            for ( int k = 0; k < order; k++ ) {
+                unit[ k ] = ( k == i )? BigRational.ONE : BigRational.ZERO;
+            }
+            this.irrationalValues[ i ] = this .evaluateNumber( unit );
+            for ( int j = 0; j < order; j++ ) {
+                BigRational[] product = ( j == 0 )? unit : this .scaleBy( unit, j );
+                long[] coefficients = new long[ order ];
+                for ( int k = 0; k < order; k++ ) {
+                    if ( product[ k ] .isBig() || product[ k ] .getLongDenominator() != 1l )
+                        throw new IllegalStateException( "Field \"" + name + "\" has non-integral structure constants" );
+                    coefficients[ k ] = product[ k ] .getLongNumerator();
+                }
+                this.multiplicationTable[ i ][ j ] = coefficients;
+            }
+        }
+        AlgebraicNumber firstIrrat = this .createAlgebraicNumber( 0, 1 );
+        this.positivePowers = new AlgebraicNumber[]{ this .one, firstIrrat };
+        this.negativePowers = new AlgebraicNumber[]{ this .one, firstIrrat .reciprocal() };
     }
 
     public String getName()
@@ -94,6 +155,9 @@ public abstract class AlgebraicField
         return subfield;
     }
 
+    /**
+     * The result uses the compact integer representation whenever the factors allow it.
+     */
     public AlgebraicNumber createAlgebraicNumber( BigRational[] factors )
     {
         return new AlgebraicNumber( this, factors );
@@ -101,27 +165,27 @@ public abstract class AlgebraicField
 
     public final AlgebraicNumber createAlgebraicNumber( int... factors )
     {
-        BigRational[] brs = new BigRational[ factors .length ];
+        if ( factors.length > this .getOrder() )
+            throw new IllegalStateException( factors.length + " is too many coordinates for field \"" + this .getName() + "\"" );
+        long[] numerators = new long[ this .getOrder() ];
         for ( int j = 0; j < factors.length; j++ ) {
-            brs[ j ] = new BigRational( factors[ j ] );
+            numerators[ j ] = factors[ j ];
         }
-        return new AlgebraicNumber( this, brs );
+        return new AlgebraicNumber( this, numerators, 1l );
     }
 
     public AlgebraicNumber createAlgebraicNumber( int ones, int irrat, int denominator, int scalePower )
     {
-        BigRational[] factors = new BigRational[ this .getOrder() ];
-        factors[ 0 ] = new BigRational( ones, denominator );
-        factors[ 1 ] = new BigRational( irrat, denominator );
-        for ( int i = 2; i < factors.length; i++ ) {
-            factors[ i ] = new BigRational( 0 );
-        }
+        long[] numerators = new long[ this .getOrder() ];
+        numerators[ 0 ] = ones;
+        numerators[ 1 ] = irrat;
+        AlgebraicNumber result = new AlgebraicNumber( this, numerators, denominator );
         if ( scalePower != 0 ) {
             AlgebraicNumber multiplier = this .createPower( scalePower );
-            return new AlgebraicNumber( this, factors ) .times( multiplier );
+            return result .times( multiplier );
         }
         else
-            return new AlgebraicNumber( this, factors );
+            return result;
     }
 
     public final AlgebraicNumber createPower( int power )
@@ -130,33 +194,36 @@ public abstract class AlgebraicField
             return this .one;
         if ( power > 0 )
         {
-            // first, fill in the missing powers in the list
-            int size = this .positivePowers .size();
-            AlgebraicNumber irrat = this .positivePowers .get( 1 );
-            AlgebraicNumber last = this .positivePowers .get( size - 1 );
-            for (int i = size; i <= power; i++) {
-                AlgebraicNumber next = last .times( irrat );
-                this .positivePowers .add( next );
-                last = next;
+            AlgebraicNumber[] powers = this .positivePowers;
+            if ( power >= powers.length ) {
+                powers = extendPowers( powers, power );
+                this .positivePowers = powers;
             }
-            return positivePowers .get( power );
+            return powers[ power ];
         }
         else
         {
             power = - power;
-            // first, fill in the missing powers in the list
-            int size = this .negativePowers .size();
-            AlgebraicNumber irrat = this .negativePowers .get( 1 );
-            AlgebraicNumber last = this .negativePowers .get( size - 1 );
-            for (int i = size; i <= power; i++) {
-                AlgebraicNumber next = last .times( irrat );
-                this .negativePowers .add( next );
-                last = next;
+            AlgebraicNumber[] powers = this .negativePowers;
+            if ( power >= powers.length ) {
+                powers = extendPowers( powers, power );
+                this .negativePowers = powers;
             }
-            return negativePowers .get( power );
+            return powers[ power ];
         }
     }
 
+    // a longer copy, with room to grow, so the copying is amortized
+    private static AlgebraicNumber[] extendPowers( AlgebraicNumber[] powers, int power )
+    {
+        AlgebraicNumber irrat = powers[ 1 ];
+        AlgebraicNumber[] result = Arrays .copyOf( powers, Math .max( power + 1, 2 * powers.length ) );
+        for ( int i = powers.length; i < result.length; i++ ) {
+            result[ i ] = result[ i - 1 ] .times( irrat );
+        }
+        return result;
+    }
+
     /**
      * @param wholeNumber becomes the numerator with 1 as the denominator
      * @return AlgebraicNumber
@@ -275,34 +342,255 @@ public abstract class AlgebraicField
     // number operations
     // ======================================================================================
 
+    /**
+     * Multiply two numbers, using the structure constants.
+     * Each operand is brought to integer numerators over a common denominator,
+     * so the only BigRational reductions are the final ones.
+     */
+    final BigRational[] multiply( BigRational[] v1, BigRational[] v2 )
+    {
+        int order = this .getOrder();
+        BigInteger denominator1 = commonDenominator( v1 );
+        BigInteger denominator2 = commonDenominator( v2 );
+        BigInteger[] numerators1 = numerators( v1, denominator1 );
+        BigInteger[] numerators2 = numerators( v2, denominator2 );
+        BigInteger[] sums = new BigInteger[ order ];
+        Arrays .fill( sums, BigInteger.ZERO );
+        for ( int i = 0; i < order; i++ ) {
+            if ( numerators1[ i ] .signum() == 0 )
+                continue;
+            for ( int j = 0; j < order; j++ ) {
+                if ( numerators2[ j ] .signum() == 0 )
+                    continue;
+                BigInteger product = numerators1[ i ] .multiply( numerators2[ j ] );
+                long[] coefficients = this .multiplicationTable[ i ][ j ];
+                for ( int k = 0; k < order; k++ ) {
+                    long coefficient = coefficients[ k ];
+                    if ( coefficient == 1l )
+                        sums[ k ] = sums[ k ] .add( product );
+                    else if ( coefficient != 0l )
+                        sums[ k ] = sums[ k ] .add( product .multiply( BigInteger .valueOf( coefficient ) ) );
+                }
+            }
+        }
+        BigInteger denominator = denominator1 .multiply( denominator2 );
+        BigRational[] result = new BigRational[ order ];
+        for ( int k = 0; k < order; k++ ) {
+            result[ k ] = sums[ k ] .signum() == 0? BigRational.ZERO : new BigRational( sums[ k ], denominator );
+        }
+        return result;
+    }
 
-    protected BigRational[] reciprocal( BigRational[] fieldElement )
+    private static BigInteger commonDenominator( BigRational[] factors )
     {
-        int order = fieldElement .length;
-        BigRational[][] representation = new BigRational[ order ][ order ];
+        BigInteger lcm = BigInteger.ONE;
+        for ( BigRational factor : factors ) {
+            BigInteger den = factor .getDenominator();
+            if ( ! den .equals( BigInteger.ONE ) && ! den .equals( lcm ) )
+                lcm = lcm .multiply( den ) .divide( lcm .gcd( den ) );
+        }
+        return lcm;
+    }
+
+    private static BigInteger[] numerators( BigRational[] factors, BigInteger denominator )
+    {
+        BigInteger[] result = new BigInteger[ factors.length ];
+        for ( int i = 0; i < factors.length; i++ ) {
+            result[ i ] = factors[ i ] .isZero()? BigInteger.ZERO : factors[ i ] .getNumerator() .multiply( denominator .divide( factors[ i ] .getDenominator() ) );
+        }
+        return result;
+    }
+
+    /**
+     * Multiply two AlgebraicNumbers in integer form, ignoring their denominators.
+     * @throws ArithmeticException if any intermediate result overflows a long
+     */
+    final long[] multiply( long[] v1, long[] v2 )
+    {
+        long[] result = new long[ v1.length ];
+        this .multiply( v1, v2, result );
+        return result;
+    }
+
+    /**
+     * Multiply two AlgebraicNumbers in integer form into an existing array,
+     * ignoring their denominators.
+     * @throws ArithmeticException if any intermediate result overflows a long,
+     * in which case the contents of result are undefined
+     */
+    final void multiply( long[] v1, long[] v2, long[] result )
+    {
+        int order = v1.length;
+        Arrays .fill( result, 0l );
         for ( int i = 0; i < order; i++ ) {
-            representation[ 0 ][ i ] = fieldElement[ i ];
+            if ( v1[ i ] == 0l )
+                continue;
+            for ( int j = 0; j < order; j++ ) {
+                if ( v2[ j ] == 0l )
+                    continue;
+                long product = Math .multiplyExact( v1[ i ], v2[ j ] );
+                long[] coefficients = this .multiplicationTable[ i ][ j ];
+                for ( int k = 0; k < order; k++ ) {
+                    if ( coefficients[ k ] != 0l )
+                        result[ k ] = Math .addExact( result[ k ], Math .multiplyExact( product, coefficients[ k ] ) );
+                }
+            }
+        }
+    }
+
+    final MinimalPolynomial getMinimalPolynomial()
+    {
+        MinimalPolynomial result = this .minimalPolynomial;
+        if ( result == null ) {
+            synchronized ( this ) {
+                result = this .minimalPolynomial;
+                if ( result == null ) {
+                    result = new MinimalPolynomial( this, this .irrationalValues );
+                    this .minimalPolynomial = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static final long EXACT_DOUBLE_LIMIT = 1l << 53;
+
+    /**
+     * Evaluate an AlgebraicNumber in integer form.
+     * Each term is computed just as evaluateNumber( BigRational[] ) would, so the results agree exactly.
+     */
+    final double evaluateNumber( long[] numerators, long denominator )
+    {
+        double result = 0d;
+        for ( int i = 0; i < numerators.length; i++ ) {
+            long num = numerators[ i ];
+            if ( num == 0l )
+                continue;
+            long den = denominator;
+            if ( den >= EXACT_DOUBLE_LIMIT || Math.abs( num ) >= EXACT_DOUBLE_LIMIT ) {
+                // the conversions to double would round, so reduce first, as BigRational does
+                long g = BigRational.gcd( num, den );
+                num /= g;
+                den /= g;
+            }
+            result += this .irrationalValues[ i ] * ( ((double) num) / ((double) den) );
         }
+        return result;
+    }
+
+
+    final AlgebraicNumber reciprocal( AlgebraicNumber n )
+    {
+        AlgebraicNumber result;
+        synchronized ( this .reciprocals ) {
+            result = this .reciprocals .get( n );
+        }
+        if ( result != null )
+            return result;
+        long[] numerators = n .getIntegerNumerators();
+        if ( numerators != null ) {
+            try {
+                // n = N / D, and N * adj( N ) = norm( N ), so 1 / n = D * adj( N ) / norm( N )
+                long[] adjugate = this .adjugate( numerators );
+                long norm = this .multiply( numerators, adjugate )[ 0 ];
+                if ( norm == 0l )
+                    throw new RuntimeException( "Denominator is zero" );
+                for ( int i = 0; i < adjugate.length; i++ ) {
+                    adjugate[ i ] = Math .multiplyExact( adjugate[ i ], n .getIntegerDenominator() );
+                }
+                result = new AlgebraicNumber( this, adjugate, norm );
+            } catch ( ArithmeticException e ) {
+                // overflow, so fall back to BigRational arithmetic
+            }
+        }
+        if ( result == null )
+            result = new AlgebraicNumber( this, this .reciprocal( n .getFactors() ) );
+        synchronized ( this .reciprocals ) {
+            this .reciprocals .put( n, result );
+        }
+        return result;
+    }
+
+    /**
+     * Compute the adjugate of an integer-form number: the product of its other conjugates,
+     * so that numerators * adjugate( numerators ) is the (integer) norm.
+     * The default computes the cofactors of the first row of the multiplication matrix,
+     * using the structure constants; the quadratic fields override this with the conjugate.
+     * @throws ArithmeticException on overflow
+     */
+    long[] adjugate( long[] numerators )
+    {
+        int order = numerators .length;
+        // matrix[ k ][ j ] is the coefficient of the k-th irrational in numerators * (j-th irrational)
+        long[][] matrix = new long[ order ][ order ];
+        for ( int i = 0; i < order; i++ ) {
+            if ( numerators[ i ] == 0l )
+                continue;
+            for ( int j = 0; j < order; j++ ) {
+                long[] coefficients = this .multiplicationTable[ i ][ j ];
+                for ( int k = 0; k < order; k++ ) {
+                    if ( coefficients[ k ] != 0l )
+                        matrix[ k ][ j ] = Math .addExact( matrix[ k ][ j ], Math .multiplyExact( numerators[ i ], coefficients[ k ] ) );
+                }
+            }
+        }
+        // the reciprocal is the first column of the inverse matrix, which is the first row of cofactors over the determinant
+        long[] result = new long[ order ];
+        for ( int i = 0; i < order; i++ ) {
+            long minor = minor( matrix, 1, ( 1 << order ) - 1 & ~( 1 << i ) );
+            result[ i ] = ( i % 2 == 0 )? minor : - minor;
+        }
+        return result;
+    }
+
+    // Laplace expansion of the determinant of rows [ row .. ] and the columns in the mask
+    private static long minor( long[][] matrix, int row, int columns )
+    {
+        if ( row == matrix.length )
+            return 1l;
+        long result = 0l;
+        int sign = 1;
+        for ( int j = 0; j < matrix.length; j++ ) {
+            if ( ( columns & ( 1 << j ) ) == 0 )
+                continue;
+            if ( matrix[ row ][ j ] != 0l ) {
+                long term = Math .multiplyExact( matrix[ row ][ j ], minor( matrix, row + 1, columns & ~( 1 << j ) ) );
+                result = ( sign > 0 )? Math .addExact( result, term ) : Math .subtractExact( result, term );
+            }
+            sign = -sign;
+        }
+        return result;
+    }
+
+    protected BigRational[] reciprocal( BigRational[] fieldElement )
+    {
+        int order = fieldElement .length;
+        BigRational[][] representation = new BigRational[ order ][];
+        representation[ 0 ] = Arrays .copyOf( fieldElement, order );
         for ( int j = 1; j < order; j++ ) {
-            BigRational[] column = this .scaleBy( fieldElement, j );
-            for ( int i = 0; i < order; i++ ) {
-                representation[ j ][ i ] = column[ i ];
+            representation[ j ] = this .scaleBy( fieldElement, j );
+        }
+        // clear denominators, so the fraction-free elimination sees only integers
+        BigInteger lcm = BigInteger.ONE;
+        for ( BigRational[] row : representation ) {
+            for ( BigRational entry : row ) {
+                BigInteger den = entry .getDenominator();
+                lcm = lcm .divide( lcm .gcd( den ) ) .multiply( den );
             }
         }
+        BigRational scale = new BigRational( lcm, BigInteger.ONE );
         BigRational[][] reciprocal = new BigRational[ order ][ order ];
-        // create an identity matrix
         for ( int j = 0; j < order; j++ ) {
             for ( int i = 0; i < order; i++ ) {
-                if ( i == j )
-                    reciprocal[ j ][ i ] = new BigRational( 1 );
-                else
-                    reciprocal[ j ][ i ] = new BigRational( 0 );
+                representation[ j ][ i ] = representation[ j ][ i ] .times( scale );
+                reciprocal[ j ][ i ] = ( i == j )? BigRational.ONE : BigRational.ZERO;
             }
         }
-        Fields .gaussJordanReduction( representation, reciprocal );
+        Fields .fractionFreeReduction( representation, reciprocal );
+        // the inverse of the scaled representation is the inverse of the original, divided by lcm
         BigRational[] reciprocalFactors = new BigRational[ order ];
         for ( int i = 0; i < order; i++ ) {
-            reciprocalFactors[ i ] = reciprocal[ 0 ][ i ];
+            reciprocalFactors[ i ] = reciprocal[ 0 ][ i ] .times( scale );
         }
         return reciprocalFactors;
     }
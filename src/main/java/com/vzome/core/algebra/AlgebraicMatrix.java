@@ -91,10 +91,129 @@ public class AlgebraicMatrix
         AlgebraicField field = this .matrix[ 0 ][ 0 ] .getField();
         AlgebraicMatrix result = new AlgebraicMatrix( field, this .matrix .length );
 
-        Fields .gaussJordanReduction( this .matrix, result .matrix );
+        // The common sizes use the adjugate, so the only division is by the determinant.
+        AlgebraicNumber[][] adjugate = null;
+        AlgebraicNumber determinant = null;
+        AlgebraicNumberAccumulator sum = new AlgebraicNumberAccumulator( field );
+        switch ( this .matrix .length ) {
+
+        case 3:
+            adjugate = this .adjugate3( sum );
+            determinant = sum .clear()
+                    .addProduct( this .matrix[ 0 ][ 0 ], adjugate[ 0 ][ 0 ] )
+                    .addProduct( this .matrix[ 0 ][ 1 ], adjugate[ 1 ][ 0 ] )
+                    .addProduct( this .matrix[ 0 ][ 2 ], adjugate[ 2 ][ 0 ] ) .toAlgebraicNumber();
+            break;
+
+        case 4:
+            adjugate = new AlgebraicNumber[ 4 ][ 4 ];
+            determinant = this .adjugate4( sum, adjugate );
+            break;
+
+        default:
+            AlgebraicNumber[][] copy = new AlgebraicNumber[ this .matrix .length ][];
+            for ( int i = 0; i < copy .length; i++ ) {
+                copy[ i ] = Arrays .copyOf( this .matrix[ i ], this .matrix[ i ] .length );
+            }
+            if ( Fields .fractionFreeReduction( copy, result .matrix ) != null )
+                return result;
+            break;
+        }
+
+        if ( determinant == null || determinant .isZero() ) {
+            // singular; keep the historical behavior
+            result = new AlgebraicMatrix( field, this .matrix .length );
+            Fields .gaussJordanReduction( this .matrix, result .matrix );
+            return result;
+        }
+        AlgebraicNumber scale = determinant .reciprocal();
+        for ( int i = 0; i < adjugate .length; i++ ) {
+            for ( int j = 0; j < adjugate .length; j++ ) {
+                result .matrix[ i ][ j ] = adjugate[ i ][ j ] .times( scale );
+            }
+        }
         return result;
 	}
 
+    // the transposed matrix of cofactors
+    private AlgebraicNumber[][] adjugate3( AlgebraicNumberAccumulator sum )
+    {
+        AlgebraicNumber[][] m = this .matrix;
+        AlgebraicNumber[][] adjugate = new AlgebraicNumber[ 3 ][ 3 ];
+        for ( int i = 0; i < 3; i++ ) {
+            int i1 = ( i + 1 ) % 3, i2 = ( i + 2 ) % 3;
+            for ( int j = 0; j < 3; j++ ) {
+                int j1 = ( j + 1 ) % 3, j2 = ( j + 2 ) % 3;
+                adjugate[ i ][ j ] = sum .clear()
+                        .addProduct( m[ j1 ][ i1 ], m[ j2 ][ i2 ] )
+                        .subtractProduct( m[ j1 ][ i2 ], m[ j2 ][ i1 ] ) .toAlgebraicNumber();
+            }
+        }
+        return adjugate;
+    }
+
+    /**
+     * Fill in the adjugate of a 4x4 matrix, by the Laplace expansion along the top two rows,
+     * sharing the 2x2 minors of the top rows (s) and the bottom rows (c).
+     * @return the determinant
+     */
+    private AlgebraicNumber adjugate4( AlgebraicNumberAccumulator sum, AlgebraicNumber[][] b )
+    {
+        AlgebraicNumber[][] a = this .matrix;
+        AlgebraicNumber s0 = minor( sum, a[0][0], a[1][1], a[1][0], a[0][1] );
+        AlgebraicNumber s1 = minor( sum, a[0][0], a[1][2], a[1][0], a[0][2] );
+        AlgebraicNumber s2 = minor( sum, a[0][0], a[1][3], a[1][0], a[0][3] );
+        AlgebraicNumber s3 = minor( sum, a[0][1], a[1][2], a[1][1], a[0][2] );
+        AlgebraicNumber s4 = minor( sum, a[0][1], a[1][3], a[1][1], a[0][3] );
+        AlgebraicNumber s5 = minor( sum, a[0][2], a[1][3], a[1][2], a[0][3] );
+        AlgebraicNumber c5 = minor( sum, a[2][2], a[3][3], a[3][2], a[2][3] );
+        AlgebraicNumber c4 = minor( sum, a[2][1], a[3][3], a[3][1], a[2][3] );
+        AlgebraicNumber c3 = minor( sum, a[2][1], a[3][2], a[3][1], a[2][2] );
+        AlgebraicNumber c2 = minor( sum, a[2][0], a[3][3], a[3][0], a[2][3] );
+        AlgebraicNumber c1 = minor( sum, a[2][0], a[3][2], a[3][0], a[2][2] );
+        AlgebraicNumber c0 = minor( sum, a[2][0], a[3][1], a[3][0], a[2][1] );
+
+        b[0][0] = alternating( sum, false, a[1][1], a[1][2], a[1][3], c5, c4, c3 );
+        b[0][1] = alternating( sum, true,  a[0][1], a[0][2], a[0][3], c5, c4, c3 );
+        b[0][2] = alternating( sum, false, a[3][1], a[3][2], a[3][3], s5, s4, s3 );
+        b[0][3] = alternating( sum, true,  a[2][1], a[2][2], a[2][3], s5, s4, s3 );
+        b[1][0] = alternating( sum, true,  a[1][0], a[1][2], a[1][3], c5, c2, c1 );
+        b[1][1] = alternating( sum, false, a[0][0], a[0][2], a[0][3], c5, c2, c1 );
+        b[1][2] = alternating( sum, true,  a[3][0], a[3][2], a[3][3], s5, s2, s1 );
+        b[1][3] = alternating( sum, false, a[2][0], a[2][2], a[2][3], s5, s2, s1 );
+        b[2][0] = alternating( sum, false, a[1][0], a[1][1], a[1][3], c4, c2, c0 );
+        b[2][1] = alternating( sum, true,  a[0][0], a[0][1], a[0][3], c4, c2, c0 );
+        b[2][2] = alternating( sum, false, a[3][0], a[3][1], a[3][3], s4, s2, s0 );
+        b[2][3] = alternating( sum, true,  a[2][0], a[2][1], a[2][3], s4, s2, s0 );
+        b[3][0] = alternating( sum, true,  a[1][0], a[1][1], a[1][2], c3, c1, c0 );
+        b[3][1] = alternating( sum, false, a[0][0], a[0][1], a[0][2], c3, c1, c0 );
+        b[3][2] = alternating( sum, true,  a[3][0], a[3][1], a[3][2], s3, s1, s0 );
+        b[3][3] = alternating( sum, false, a[2][0], a[2][1], a[2][2], s3, s1, s0 );
+
+        // return s0 * c5 - s1 * c4 + s2 * c3 + s3 * c2 - s4 * c1 + s5 * c0
+        return sum .clear()
+                .addProduct( s0, c5 ) .subtractProduct( s1, c4 ) .addProduct( s2, c3 )
+                .addProduct( s3, c2 ) .subtractProduct( s4, c1 ) .addProduct( s5, c0 ) .toAlgebraicNumber();
+    }
+
+    // return a * b - c * d
+    private static AlgebraicNumber minor( AlgebraicNumberAccumulator sum, AlgebraicNumber a, AlgebraicNumber b, AlgebraicNumber c, AlgebraicNumber d )
+    {
+        return sum .clear() .addProduct( a, b ) .subtractProduct( c, d ) .toAlgebraicNumber();
+    }
+
+    // return +/- ( a0 * b0 - a1 * b1 + a2 * b2 )
+    private static AlgebraicNumber alternating( AlgebraicNumberAccumulator sum, boolean negate,
+            AlgebraicNumber a0, AlgebraicNumber a1, AlgebraicNumber a2, AlgebraicNumber b0, AlgebraicNumber b1, AlgebraicNumber b2 )
+    {
+        sum .clear();
+        if ( negate )
+            sum .subtractProduct( a0, b0 ) .addProduct( a1, b1 ) .subtractProduct( a2, b2 );
+        else
+            sum .addProduct( a0, b0 ) .subtractProduct( a1, b1 ) .addProduct( a2, b2 );
+        return sum .toAlgebraicNumber();
+    }
+
     public AlgebraicMatrix transpose()
     {
         // TODO assert matrix is square
@@ -113,8 +232,23 @@ public class AlgebraicMatrix
 	{
         AlgebraicField field = this .matrix[ 0 ][ 0 ] .getField();
         AlgebraicMatrix result = new AlgebraicMatrix( field, this .matrix .length );
+        AlgebraicNumber[][] left = this .matrix, right = that .matrix, product = result .matrix;
+        if ( Fields .rows( right ) != Fields .columns( left ) )
+            throw new IllegalArgumentException( "matrices cannot be multiplied" );
+        if ( Fields .columns( right ) != Fields .columns( product ) )
+            throw new IllegalArgumentException( "product matrix has wrong number of columns" );
 
-        Fields .matrixMultiplication( this .matrix, that .matrix, result .matrix );
+        // same as Fields.matrixMultiplication, but accumulating each sum of products in place
+        AlgebraicNumberAccumulator sum = new AlgebraicNumberAccumulator( field );
+        for ( int i = 0; i < Fields .rows( product ); i++ ) {
+            for ( int j = 0; j < Fields .columns( product ); j++ ) {
+                sum .clear();
+                for ( int k = 0; k < Fields .columns( left ); k++ ) {
+                    sum .addProduct( left[ i ][ k ], right[ k ][ j ] );
+                }
+                product[ i ][ j ] = sum .toAlgebraicNumber();
+            }
+        }
         return result;
 	}
 
@@ -128,33 +262,23 @@ public class AlgebraicMatrix
 
         AlgebraicNumber[] resultComponents = new AlgebraicNumber[ rowLength ];
         AlgebraicField field = this .matrix[ 0 ][ 0 ] .getField();
+        AlgebraicNumberAccumulator sum = new AlgebraicNumberAccumulator( field );
         for ( int j = 0; j < rowLength; j++ ) {
-            resultComponents[ j ] = field .zero();
+            sum .clear();
             for ( int i = 0; i < colLength; i++ ) {
-                AlgebraicNumber product = rowVector .getComponent( i ) .times( this .matrix[ i ][ j ] );
-                resultComponents[ j ] = resultComponents[ j ] .plus( product );
+                sum .addProduct( rowVector .getComponent( i ), this .matrix[ i ][ j ] );
             }
+            resultComponents[ j ] = sum .toAlgebraicNumber();
         }
         return new AlgebraicVector( resultComponents );
     }
 
     public AlgebraicVector timesColumn( AlgebraicVector columnVector )
     {
-        int rowLength = columnVector .dimension();
-        if ( this.matrix[ 0 ] .length != rowLength )
-            throw new IllegalArgumentException( "vector length incorrect for this matrix: " + columnVector );
-        int colLength = this .matrix .length;
-
-        AlgebraicNumber[] resultComponents = new AlgebraicNumber[ colLength ];
         AlgebraicField field = this .matrix[ 0 ][ 0 ] .getField();
-        for ( int i = 0; i < colLength; i++ ) {
-            resultComponents[ i ] = field .zero();
-            for ( int j = 0; j < rowLength; j++ ) {
-                AlgebraicNumber product = columnVector .getComponent( j ) .times( this .matrix[ i ][ j ] );
-                resultComponents[ i ] = resultComponents[ i ] .plus( product );
-            }
-        }
-        return new AlgebraicVector( resultComponents );
+        return new AlgebraicVectorAccumulator( field, this .matrix .length )
+                .addProduct( this, columnVector )
+                .toAlgebraicVector();
     }
 
     public AlgebraicMatrix timesScalar( AlgebraicNumber scalar )
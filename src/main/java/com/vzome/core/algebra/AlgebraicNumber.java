@@ -9,24 +9,120 @@ import java.util.Arrays;
 public class AlgebraicNumber implements Fields.Element, Comparable<AlgebraicNumber>
 {
     private final AlgebraicField field;
+
+    // INVARIANT: either numerators is non-null, and the value is the sum of numerators[i] * (i-th irrational),
+    //   all divided by denominator, or numerators is null, and the factors are the truth.
+    // The integer form is used whenever all the numerators and the common denominator fit in a long
+    //   (excluding Long.MIN_VALUE), so that each value has exactly one representation.
+    //   It is always reduced, with gcd( numerators..., denominator ) == 1 and denominator > 0.
+    // The BigRational factors are the fallback for values that would overflow.
+
+    private final long[] numerators;
+    private final long denominator;
     private final BigRational[] factors;
+    private int hash; // zero means not yet computed
+
+    // Computed lazily, by approximate(); error is written last, and a negative error means not yet computed.
+    // value is what evaluate() has always returned, using the field's own irrational values.
+    // approximation uses the irrational values of the field's MinimalPolynomial instead,
+    //   and | exact value - approximation | <= error
+    private double value, approximation;
+    private volatile double error = -1d;
 
     AlgebraicNumber( AlgebraicField field, BigRational... factors )
     {
         if ( factors.length > field .getOrder() )
             throw new IllegalStateException( factors.length + " is too many coordinates for field \"" + field.getName() + "\"" );
         this .field = field;
-        this .factors = new BigRational[ field .getOrder() ];
+        BigRational[] full = new BigRational[ field .getOrder() ];
         for ( int i = 0; i < factors.length; i++ ) {
-            this .factors[ i ] = factors[ i ] == null 
+            full[ i ] = factors[ i ] == null 
                     ? BigRational.ZERO
                     : factors[ i ];
         }
-        for ( int i = factors.length; i < this.factors.length; i++ ) {
-            this .factors[ i ] = BigRational.ZERO;
+        for ( int i = factors.length; i < full.length; i++ ) {
+            full[ i ] = BigRational.ZERO;
+        }
+        long commonDenominator = commonDenominator( full );
+        if ( commonDenominator > 0l ) {
+            this .numerators = new long[ full.length ];
+            for ( int i = 0; i < full.length; i++ ) {
+                // exact, since commonDenominator() checked for overflow
+                this .numerators[ i ] = full[ i ] .getLongNumerator() * ( commonDenominator / full[ i ] .getLongDenominator() );
+            }
+            this .denominator = commonDenominator;
+            this .factors = null;
+        }
+        else {
+            this .numerators = null;
+            this .denominator = 0l;
+            this .factors = full;
         }
     }
 
+    /**
+     * Create an integer-form number, reducing it by the gcd of all the numerators and the denominator.
+     * The numerators array is owned by the new object.
+     * @throws ArithmeticException if the reduced number cannot be represented in integer form,
+     * so the caller can fall back to BigRational arithmetic.
+     */
+    AlgebraicNumber( AlgebraicField field, long[] numerators, long denominator )
+    {
+        if ( denominator == 0l )
+            throw new RuntimeException( "Denominator is zero" );
+        if ( denominator == Long.MIN_VALUE )
+            throw new ArithmeticException( "long overflow" );
+        for ( long numerator : numerators ) {
+            if ( numerator == Long.MIN_VALUE )
+                throw new ArithmeticException( "long overflow" );
+        }
+        long g = Math.abs( denominator );
+        for ( int i = 0; i < numerators.length && g != 1l; i++ ) {
+            g = BigRational.gcd( numerators[ i ], g );
+        }
+        if ( denominator < 0l )
+            g = -g;
+        if ( g != 1l ) {
+            for ( int i = 0; i < numerators.length; i++ ) {
+                numerators[ i ] /= g;
+            }
+            denominator /= g;
+        }
+        this .field = field;
+        this .numerators = numerators;
+        this .denominator = denominator;
+        this .factors = null;
+    }
+
+    /**
+     * Compute the least common denominator of all the factors, or return zero if any of
+     * the factors, or the scaled numerators, cannot be represented as longs.
+     */
+    private static long commonDenominator( BigRational[] factors )
+    {
+        long lcm = 1l;
+        for ( BigRational factor : factors ) {
+            if ( factor .isBig() )
+                return 0l;
+            long den = factor .getLongDenominator();
+            if ( den != 1l && den != lcm ) {
+                long scale = den / BigRational.gcd( lcm, den );
+                long next = lcm * scale;
+                if ( scale != 0 && next / scale != lcm )
+                    return 0l;
+                lcm = next;
+            }
+        }
+        for ( BigRational factor : factors ) {
+            long scale = lcm / factor .getLongDenominator();
+            long num = factor .getLongNumerator();
+            long product = num * scale;
+            if ( ( scale != 0 && product / scale != num ) || product == Long.MIN_VALUE )
+                return 0l;
+        }
+        return lcm;
+    }
+
     /**
      * Extract the least common multiple of the divisors.
      * @param value
@@ -34,6 +130,8 @@ public class AlgebraicNumber implements Fields.Element, Comparable<AlgebraicNumb
      */
     public final BigInteger getDivisor()
     {
+        if ( this .numerators != null )
+            return BigInteger .valueOf( this .denominator );
         BigInteger lcm = BigInteger.ONE;
         for (BigRational factor : this.factors) {
             BigInteger aDivisor = factor.getDenominator();
@@ -42,18 +140,41 @@ public class AlgebraicNumber implements Fields.Element, Comparable<AlgebraicNumb
         return lcm;
     }
 
+    // access to the integer form, for AlgebraicNumberAccumulator; null numerators means the factors are the truth
+    long[] getIntegerNumerators()  { return this .numerators; }
+    long getIntegerDenominator()   { return this .denominator; }
+
+    /**
+     * Numbers in the integer form build their factors on demand,
+     * so the result should be treated as read-only.
+     * @return one BigRational for each irrational (including the ones place)
+     */
     public BigRational[] getFactors()
     {
-        return this .factors;
+        if ( this .numerators == null )
+            return this .factors;
+        BigRational[] result = new BigRational[ this .numerators .length ];
+        for ( int i = 0; i < result.length; i++ ) {
+            result[ i ] = this .numerators[ i ] == 0l? BigRational.ZERO : new BigRational( this .numerators[ i ], this .denominator );
+        }
+        return result;
     }
 
     @Override
     public int hashCode()
     {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result 
-                + Arrays.hashCode( factors );
+        // the representation is immutable, so the hash is computed once and cached
+        int result = this .hash;
+        if ( result == 0 ) {
+            final int prime = 31;
+            result = 1;
+            if ( this .numerators != null )
+                result = prime * ( prime * result + Arrays.hashCode( numerators ) ) + Long.hashCode( denominator );
+            else
+                result = prime * result 
+                    + Arrays.hashCode( factors );
+            this .hash = result;
+        }
         return result;
     }
 
@@ -67,7 +188,7 @@ public class AlgebraicNumber implements Fields.Element, Comparable<AlgebraicNumb
         if ( getClass() != obj.getClass() )
             return false;
         AlgebraicNumber other = (AlgebraicNumber) obj;
-        if(!field.equals( other.field )) {
+        if( field != other.field && !field.equals( other.field )) {
             String reason  = "Invalid comparison of " 
                     + getClass().getSimpleName() + "s"
                     + "with different fields: "
@@ -76,7 +197,12 @@ public class AlgebraicNumber implements Fields.Element, Comparable<AlgebraicNumb
                     + other.field.getName();
             throw new IllegalStateException(reason);
         }
-        return Arrays.equals( factors, other.factors );
+        if ( this .hash != 0 && other .hash != 0 && this .hash != other .hash )
+            return false;
+        if ( this .numerators != null )
+            // representations are unique, so an integer form can only equal another integer form
+            return other .numerators != null && this .denominator == other .denominator && Arrays.equals( numerators, other.numerators );
+        return other .numerators == null && Arrays.equals( factors, other.factors );
     }
 
     @Override
@@ -89,15 +215,100 @@ public class AlgebraicNumber implements Fields.Element, Comparable<AlgebraicNumb
             // or an IllegalStateException if fields are different
             return 0;
         }
-        int comparison = Integer.compare(factors.length, other.factors.length);
+        int comparison = Integer.compare( field.getOrder(), other.field.getOrder() );
         if (comparison != 0) {
             return comparison;
         }
-        Double d1 = this.evaluate();
-        Double d2 = other.evaluate();
-        return d1.compareTo(d2);
+        // the intervals usually decide it; if they overlap, the difference decides it exactly
+        double thisError = this .getError(), otherError = other .getError();
+        double thisApprox = this .approximation, otherApprox = other .approximation;
+        if ( thisApprox - thisError > otherApprox + otherError )
+            return 1;
+        if ( thisApprox + thisError < otherApprox - otherError )
+            return -1;
+        return this .minus( other ) .signum();
+    }
+
+    /**
+     * The exact sign of this number.
+     * A cached approximation decides it unless this is very close to zero,
+     * and then the field's minimal polynomial decides it.
+     * @return -1, 0, or 1
+     */
+    public int signum()
+    {
+        if ( this .isZero() )
+            return 0;
+        double error = this .getError();
+        if ( this .approximation > error )
+            return 1;
+        if ( this .approximation < -error )
+            return -1;
+        return this .field .getMinimalPolynomial() .signum( this .getFactors() );
     }
-    
+
+    public boolean isPositive()
+    {
+        return this .signum() > 0;
+    }
+
+    public boolean isNegative()
+    {
+        return this .signum() < 0;
+    }
+
+    // the volatile read of error makes value and approximation visible
+    private double getError()
+    {
+        double result = this .error;
+        if ( result < 0d )
+            result = this .approximate();
+        return result;
+    }
+
+    // relative error of one product, sum or conversion in the approximation, with plenty of slack;
+    //  this also covers the one-ulp error of each irrational value
+    private static final double ROUNDING = 0x1p-45;
+
+    private double approximate()
+    {
+        double[] irrationals = this .field .getMinimalPolynomial() .getIrrationalValues();
+        double approx = 0d, magnitude = 0d, result;
+        if ( this .numerators != null ) {
+            this .value = this .field .evaluateNumber( numerators, denominator );
+            for ( int i = 0; i < irrationals.length; i++ ) {
+                if ( this .numerators[ i ] == 0l )
+                    continue;
+                double term = ( (double) this .numerators[ i ] ) * irrationals[ i ];
+                approx += term;
+                magnitude += Math.abs( term );
+            }
+            approx /= this .denominator;
+            magnitude /= this .denominator;
+            result = magnitude * ROUNDING;
+        }
+        else {
+            this .value = this .field .evaluateNumber( factors );
+            boolean reliable = true;
+            for ( int i = 0; i < irrationals.length; i++ ) {
+                if ( this .factors[ i ] .isZero() )
+                    continue;
+                // getReal() converts numerator and denominator separately, so huge ones are not trustworthy
+                if ( this .factors[ i ] .getNumerator() .bitLength() > 1000 || this .factors[ i ] .getDenominator() .bitLength() > 1000 )
+                    reliable = false;
+                double term = this .factors[ i ] .getReal() * irrationals[ i ];
+                approx += term;
+                magnitude += Math.abs( term );
+            }
+            result = reliable? magnitude * ROUNDING : Double.POSITIVE_INFINITY;
+        }
+        if ( Double.isNaN( approx ) || Double.isInfinite( approx ) )
+            result = Double.POSITIVE_INFINITY;
+        this .approximation = approx;
+        this .error = result;
+        return result;
+    }
+
     public AlgebraicField getField()
     {
         return this .field;
@@ -109,10 +320,31 @@ public class AlgebraicNumber implements Fields.Element, Comparable<AlgebraicNumb
             return that;
         if ( that .isZero() )
             return this;
-        int order = this .factors .length;
+        if ( this .numerators != null && that .numerators != null ) {
+            try {
+                int order = this .numerators .length;
+                long[] sum = new long[ order ];
+                if ( this .denominator == that .denominator ) {
+                    for ( int i = 0; i < order; i++ )
+                        sum[ i ] = Math .addExact( this .numerators[ i ], that .numerators[ i ] );
+                    return new AlgebraicNumber( this .field, sum, this .denominator );
+                }
+                long g = BigRational.gcd( this .denominator, that .denominator );
+                long thisScale = that .denominator / g;
+                long thatScale = this .denominator / g;
+                for ( int i = 0; i < order; i++ )
+                    sum[ i ] = Math .addExact( Math .multiplyExact( this .numerators[ i ], thisScale ), Math .multiplyExact( that .numerators[ i ], thatScale ) );
+                return new AlgebraicNumber( this .field, sum, Math .multiplyExact( this .denominator, thisScale ) );
+            } catch ( ArithmeticException e ) {
+                // overflow, so fall back to BigRational arithmetic
+            }
+        }
+        BigRational[] thisFactors = this .getFactors();
+        BigRational[] thatFactors = that .getFactors();
+        int order = thisFactors .length;
         BigRational[] sum = new BigRational[ order ];
         for ( int i = 0; i < order; i++ ) {
-            sum[ i ] = this .factors[ i ] .plus( that .factors[ i ] );
+            sum[ i ] = thisFactors[ i ] .plus( thatFactors[ i ] );
         }
         return new AlgebraicNumber( this .field, sum );
     }
@@ -125,7 +357,15 @@ public class AlgebraicNumber implements Fields.Element, Comparable<AlgebraicNumb
             return that;
         if ( that .isOne() )
             return this;
-        return new AlgebraicNumber( this .field, this .field .multiply( this .factors, that .factors ) );
+        if ( this .numerators != null && that .numerators != null ) {
+            try {
+                long[] product = this .field .multiply( this .numerators, that .numerators );
+                return new AlgebraicNumber( this .field, product, Math .multiplyExact( this .denominator, that .denominator ) );
+            } catch ( ArithmeticException e ) {
+                // overflow, so fall back to BigRational arithmetic
+            }
+        }
+        return new AlgebraicNumber( this .field, this .field .multiply( this .getFactors(), that .getFactors() ) );
     }
 
     public AlgebraicNumber minus( AlgebraicNumber that )
@@ -146,12 +386,37 @@ public class AlgebraicNumber implements Fields.Element, Comparable<AlgebraicNumb
 
     public double evaluate()
     {
-        return this .field .evaluateNumber( factors );
+        this .getError();
+        return this .value;
+    }
+
+    /**
+     * Like evaluate(), but with a rigorous bound:
+     * | exact value - getApproximation() | <= getApproximationError()
+     */
+    public double getApproximation()
+    {
+        this .getError();
+        return this .approximation;
+    }
+
+    public double getApproximationError()
+    {
+        return this .getError();
     }
 
     @Override
     public boolean isZero()
     {
+        if ( this == this .field .zero() )
+            return true;
+        if ( this .numerators != null ) {
+            for ( long numerator : this .numerators ) {
+                if ( numerator != 0l )
+                    return false;
+            }
+            return true;
+        }
         for ( BigRational factor : this .factors ) {
             if ( ! factor .isZero() )
                 return false;
@@ -162,6 +427,17 @@ public class AlgebraicNumber implements Fields.Element, Comparable<AlgebraicNumb
     @Override
     public boolean isOne()
     {
+        if ( this == this .field .one() )
+            return true;
+        if ( this .numerators != null ) {
+            if ( this .denominator != 1l || this .numerators[ 0 ] != 1l )
+                return false;
+            for ( int i = 1; i < this .numerators.length; i++ ) {
+                if ( this .numerators[ i ] != 0l )
+                    return false;
+            }
+            return true;
+        }
         if ( ! this .factors[ 0 ] .isOne() )
             return false;
         for ( int i = 1; i < this .factors.length; i++ ) {
@@ -174,6 +450,13 @@ public class AlgebraicNumber implements Fields.Element, Comparable<AlgebraicNumb
     @Override
     public AlgebraicNumber negate()
     {
+        if ( this .numerators != null ) {
+            long[] result = new long[ this .numerators .length ];
+            for ( int i = 0; i < result.length; i++ ) {
+                result[ i ] = - this .numerators[ i ]; // never overflows, since Long.MIN_VALUE is excluded
+            }
+            return new AlgebraicNumber( this .field, result, this .denominator );
+        }
         BigRational[] result = new BigRational[ this .factors .length ];
         for ( int i = 0; i < result.length; i++ ) {
             result[ i ] = this .factors[ i ] .negate();
@@ -184,12 +467,12 @@ public class AlgebraicNumber implements Fields.Element, Comparable<AlgebraicNumb
     @Override
     public AlgebraicNumber reciprocal()
     {
-        return new AlgebraicNumber( this .field, this .field .reciprocal( this .factors ) );
+        return this .field .reciprocal( this );
     }
 
     public void getNumberExpression( StringBuffer buf, int format )
     {
-        this .field .getNumberExpression( buf, this .factors, format );
+        this .field .getNumberExpression( buf, this .getFactors(), format );
     }
 
     public String toString( int format )
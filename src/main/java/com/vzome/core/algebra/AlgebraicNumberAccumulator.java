@@ -0,0 +1,195 @@
+package com.vzome.core.algebra;
+
+import java.util.Arrays;
+
+/**
+ * A mutable sum of AlgebraicNumbers and their products, for the inner loops of
+ * dot products, cross products and matrix multiplication.
+ * The running sum is kept in the same common-denominator integer form that AlgebraicNumber uses,
+ * in arrays that are reused, so no intermediate AlgebraicNumbers are created.
+ * Only toAlgebraicNumber() creates an immutable result.
+ *
+ * If the integer form would overflow, the accumulator switches to BigRational arithmetic
+ * until it is cleared, so the result is always exact.
+ *
+ * An accumulator is not thread-safe; use one per thread, or per computation.
+ */
+public class AlgebraicNumberAccumulator
+{
+    private final AlgebraicField field;
+
+    private long[] numerators;
+    private long denominator = 1l;
+
+    // scratch arrays, so that each step can be abandoned cleanly if it overflows
+    private long[] sum;
+    private final long[] product;
+
+    // non-null once the integer form has overflowed; then these are the truth
+    private BigRational[] factors = null;
+
+    public AlgebraicNumberAccumulator( AlgebraicField field )
+    {
+        this .field = field;
+        int order = field .getOrder();
+        this .numerators = new long[ order ];
+        this .sum = new long[ order ];
+        this .product = new long[ order ];
+    }
+
+    public AlgebraicField getField()
+    {
+        return this .field;
+    }
+
+    public AlgebraicNumberAccumulator clear()
+    {
+        Arrays .fill( this .numerators, 0l );
+        this .denominator = 1l;
+        this .factors = null;
+        return this;
+    }
+
+    public AlgebraicNumberAccumulator add( AlgebraicNumber n )
+    {
+        return this .accumulate( n, false );
+    }
+
+    public AlgebraicNumberAccumulator subtract( AlgebraicNumber n )
+    {
+        return this .accumulate( n, true );
+    }
+
+    /**
+     * Fused multiply-add: this += a * b
+     */
+    public AlgebraicNumberAccumulator addProduct( AlgebraicNumber a, AlgebraicNumber b )
+    {
+        return this .accumulateProduct( a, b, false );
+    }
+
+    /**
+     * Fused multiply-subtract: this -= a * b
+     */
+    public AlgebraicNumberAccumulator subtractProduct( AlgebraicNumber a, AlgebraicNumber b )
+    {
+        return this .accumulateProduct( a, b, true );
+    }
+
+    public boolean isZero()
+    {
+        if ( this .factors != null )
+            return this .field .isZero( this .factors );
+        for ( long numerator : this .numerators ) {
+            if ( numerator != 0l )
+                return false;
+        }
+        return true;
+    }
+
+    public AlgebraicNumber toAlgebraicNumber()
+    {
+        if ( this .factors == null ) {
+            try {
+                return new AlgebraicNumber( this .field, Arrays .copyOf( this .numerators, this .numerators .length ), this .denominator );
+            } catch ( ArithmeticException e ) {
+                this .promote();
+            }
+        }
+        return new AlgebraicNumber( this .field, this .factors );
+    }
+
+    private AlgebraicNumberAccumulator accumulate( AlgebraicNumber n, boolean negate )
+    {
+        if ( n .isZero() )
+            return this;
+        long[] nums = n .getIntegerNumerators();
+        if ( this .factors == null && nums != null ) {
+            try {
+                this .addTerm( nums, n .getIntegerDenominator(), negate );
+                return this;
+            } catch ( ArithmeticException e ) {
+                this .promote();
+            }
+        }
+        else if ( this .factors == null )
+            this .promote();
+        if ( negate )
+            this .factors = this .field .subtract( this .factors, n .getFactors() );
+        else
+            this .factors = this .field .add( this .factors, n .getFactors() );
+        return this;
+    }
+
+    private AlgebraicNumberAccumulator accumulateProduct( AlgebraicNumber a, AlgebraicNumber b, boolean negate )
+    {
+        if ( a .isZero() || b .isZero() )
+            return this;
+        long[] aNums = a .getIntegerNumerators();
+        long[] bNums = b .getIntegerNumerators();
+        if ( this .factors == null && aNums != null && bNums != null ) {
+            try {
+                this .field .multiply( aNums, bNums, this .product );
+                long productDenominator = Math .multiplyExact( a .getIntegerDenominator(), b .getIntegerDenominator() );
+                this .addTerm( this .product, productDenominator, negate );
+                return this;
+            } catch ( ArithmeticException e ) {
+                this .promote();
+            }
+        }
+        else if ( this .factors == null )
+            this .promote();
+        BigRational[] term = this .field .multiply( a .getFactors(), b .getFactors() );
+        if ( negate )
+            this .factors = this .field .subtract( this .factors, term );
+        else
+            this .factors = this .field .add( this .factors, term );
+        return this;
+    }
+
+    /**
+     * Add (or subtract) termNumerators / termDenominator to the integer form.
+     * The result is built in the scratch array, so nothing changes if this throws.
+     * @throws ArithmeticException on overflow
+     */
+    private void addTerm( long[] termNumerators, long termDenominator, boolean negate )
+    {
+        int order = this .numerators .length;
+        long newDenominator;
+        if ( termDenominator == this .denominator ) {
+            newDenominator = this .denominator;
+            for ( int k = 0; k < order; k++ ) {
+                this .sum[ k ] = negate
+                        ? Math .subtractExact( this .numerators[ k ], termNumerators[ k ] )
+                        : Math .addExact( this .numerators[ k ], termNumerators[ k ] );
+            }
+        }
+        else {
+            long g = BigRational.gcd( this .denominator, termDenominator );
+            long sumScale = termDenominator / g;
+            long termScale = this .denominator / g;
+            newDenominator = Math .multiplyExact( this .denominator, sumScale );
+            for ( int k = 0; k < order; k++ ) {
+                long left = Math .multiplyExact( this .numerators[ k ], sumScale );
+                long right = Math .multiplyExact( termNumerators[ k ], termScale );
+                this .sum[ k ] = negate? Math .subtractExact( left, right ) : Math .addExact( left, right );
+            }
+        }
+        long[] temp = this .numerators;
+        this .numerators = this .sum;
+        this .sum = temp;
+        this .denominator = newDenominator;
+    }
+
+    /**
+     * Switch to BigRational arithmetic, after an overflow.
+     */
+    private void promote()
+    {
+        BigRational[] result = new BigRational[ this .numerators .length ];
+        for ( int k = 0; k < result.length; k++ ) {
+            result[ k ] = new BigRational( this .numerators[ k ], this .denominator );
+        }
+        this .factors = result;
+    }
+}
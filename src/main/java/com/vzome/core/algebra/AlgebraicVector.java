@@ -185,12 +185,15 @@ public final class AlgebraicVector implements Comparable<AlgebraicVector>
     public AlgebraicVector cross( AlgebraicVector that )
     {
         AlgebraicNumber[] result = new AlgebraicNumber[ this .coordinates .length ];
+        AlgebraicNumberAccumulator sum = new AlgebraicNumberAccumulator( this .field );
 
         for ( int i = 0; i < result.length; i++ ) {
             int j = ( i + 1 ) % 3;
             int k = ( i + 2 ) % 3;
-            result[ i ] = this .coordinates[ j ] .times( that .coordinates[ k ] )
-                    .minus( this .coordinates[ k ] .times( that .coordinates[ j ] ) );
+            result[ i ] = sum .clear()
+                    .addProduct( this .coordinates[ j ], that .coordinates[ k ] )
+                    .subtractProduct( this .coordinates[ k ], that .coordinates[ j ] )
+                    .toAlgebraicNumber();
         }
         return new AlgebraicVector( result );
     }
@@ -249,11 +252,11 @@ public final class AlgebraicVector implements Comparable<AlgebraicVector>
 
     public AlgebraicNumber dot( AlgebraicVector that )
     {
-        AlgebraicNumber result = this .field .zero();
+        AlgebraicNumberAccumulator sum = new AlgebraicNumberAccumulator( this .field );
         for ( int i = 0; i < that.dimension(); i++ ) {
-            result = result .plus( this .coordinates[ i ] .times( that .coordinates[ i ] ) );
+            sum .addProduct( this .coordinates[ i ], that .coordinates[ i ] );
         }
-        return result;
+        return sum .toAlgebraicNumber();
     }
 
     public AlgebraicNumber getLength( AlgebraicVector unit )
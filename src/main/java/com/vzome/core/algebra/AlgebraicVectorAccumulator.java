@@ -0,0 +1,110 @@
+package com.vzome.core.algebra;
+
+/**
+ * A mutable sum of AlgebraicVectors, scaled vectors and matrix-vector products,
+ * built from one AlgebraicNumberAccumulator per coordinate.
+ * Only toAlgebraicVector() creates AlgebraicNumbers.
+ *
+ * An accumulator is not thread-safe; use one per thread, or per computation.
+ */
+public class AlgebraicVectorAccumulator
+{
+    private final AlgebraicNumberAccumulator[] coordinates;
+
+    public AlgebraicVectorAccumulator( AlgebraicField field, int dims )
+    {
+        this .coordinates = new AlgebraicNumberAccumulator[ dims ];
+        for ( int i = 0; i < dims; i++ ) {
+            this .coordinates[ i ] = new AlgebraicNumberAccumulator( field );
+        }
+    }
+
+    public AlgebraicVectorAccumulator( AlgebraicVector initial )
+    {
+        this( initial .getField(), initial .dimension() );
+        this .add( initial );
+    }
+
+    public int dimension()
+    {
+        return this .coordinates .length;
+    }
+
+    public AlgebraicNumberAccumulator getComponent( int i )
+    {
+        return this .coordinates[ i ];
+    }
+
+    public AlgebraicVectorAccumulator clear()
+    {
+        for ( AlgebraicNumberAccumulator coordinate : this .coordinates ) {
+            coordinate .clear();
+        }
+        return this;
+    }
+
+    public AlgebraicVectorAccumulator add( AlgebraicVector v )
+    {
+        for ( int i = 0; i < this .coordinates .length; i++ ) {
+            this .coordinates[ i ] .add( v .getComponent( i ) );
+        }
+        return this;
+    }
+
+    public AlgebraicVectorAccumulator subtract( AlgebraicVector v )
+    {
+        for ( int i = 0; i < this .coordinates .length; i++ ) {
+            this .coordinates[ i ] .subtract( v .getComponent( i ) );
+        }
+        return this;
+    }
+
+    /**
+     * this += v * scale
+     */
+    public AlgebraicVectorAccumulator addScaled( AlgebraicVector v, AlgebraicNumber scale )
+    {
+        for ( int i = 0; i < this .coordinates .length; i++ ) {
+            this .coordinates[ i ] .addProduct( v .getComponent( i ), scale );
+        }
+        return this;
+    }
+
+    /**
+     * this += matrix * columnVector
+     */
+    public AlgebraicVectorAccumulator addProduct( AlgebraicMatrix matrix, AlgebraicVector columnVector )
+    {
+        AlgebraicNumber[][] m = matrix .matrix;
+        int rowLength = columnVector .dimension();
+        if ( m[ 0 ] .length != rowLength )
+            throw new IllegalArgumentException( "vector length incorrect for this matrix: " + columnVector );
+        if ( m .length != this .coordinates .length )
+            throw new IllegalArgumentException( "matrix rows do not match accumulator dimension: " + m .length );
+        for ( int i = 0; i < this .coordinates .length; i++ ) {
+            AlgebraicNumberAccumulator sum = this .coordinates[ i ];
+            for ( int j = 0; j < rowLength; j++ ) {
+                sum .addProduct( m[ i ][ j ], columnVector .getComponent( j ) );
+            }
+        }
+        return this;
+    }
+
+    public boolean isOrigin()
+    {
+        for ( AlgebraicNumberAccumulator coordinate : this .coordinates ) {
+            if ( ! coordinate .isZero() )
+                return false;
+        }
+        return true;
+    }
+
+    public AlgebraicVector toAlgebraicVector()
+    {
+        AlgebraicNumber[] result = new AlgebraicNumber[ this .coordinates .length ];
+        for ( int i = 0; i < result.length; i++ ) {
+            result[ i ] = this .coordinates[ i ] .toAlgebraicNumber();
+        }
+        return new AlgebraicVector( result );
+    }
+}
@@ -16,6 +16,43 @@ public class AlgebraicVectors {
         return getNormal(v0, v1, v2).isOrigin();
     }
 
+    /**
+     * Equivalent to {@code v0.cross(v1).isOrigin()} for 3D vectors,
+     * but stops at the first nonzero component, without creating the cross product.
+     */
+    public static boolean areParallel(final AlgebraicVector v0, final AlgebraicVector v1) {
+        AlgebraicNumberAccumulator sum = new AlgebraicNumberAccumulator(v0.getField());
+        for (int i = 0; i < 3; i++) {
+            int j = (i + 1) % 3;
+            int k = (i + 2) % 3;
+            sum.clear()
+                .addProduct(v0.getComponent(j), v1.getComponent(k))
+                .subtractProduct(v0.getComponent(k), v1.getComponent(j));
+            if (!sum.isZero()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * An exact hash key for the direction of a nonzero vector: the vector scaled so that its
+     * first nonzero component is one or minus one.
+     * Two vectors have equal keys exactly when one is a positive multiple of the other.
+     */
+    public static AlgebraicVector getDirectionKey(final AlgebraicVector v) {
+        int i = 0;
+        while (v.getComponent(i).isZero()) {
+            ++i;
+        }
+        AlgebraicNumber pivot = v.getComponent(i);
+        if (pivot.isOne() || pivot.negate().isOne()) {
+            return v;
+        }
+        AlgebraicNumber scale = pivot.reciprocal();
+        return v.scale(pivot.isNegative() ? scale.negate() : scale);
+    }
+
     public static AlgebraicVector calculateCentroid(Collection<AlgebraicVector> vectors) {
         return getCentroid(vectors.toArray(new AlgebraicVector[vectors.size()]));
     }
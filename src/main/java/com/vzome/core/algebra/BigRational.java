@@ -38,10 +38,14 @@ public class BigRational implements Comparable<BigRational>, Fields.Element {
 
     // INVARIANT: either the BigIntegers are null, and the longs are the truth,
     //   or the longs are both == 0, and the BigIntegers are the truth.
+    // The long form is used whenever the reduced value fits, excluding Long.MIN_VALUE,
+    //   so all long arithmetic is overflow-checked, and promotes to BigInteger only when necessary.
     
     private long num;
     private long den;
 
+    private int hash; // cached, as with String.hashCode(); zero means not yet computed
+
     // create and initialize a new BigRational object
     public BigRational( long numerator, long denominator )
     {
@@ -51,8 +55,26 @@ public class BigRational implements Comparable<BigRational>, Fields.Element {
     // create and initialize a new BigRational object
     public BigRational( long numerator )
     {
-        this .num = numerator;
-        this .den = 1l;
+        if ( numerator == Long.MIN_VALUE )
+            init( BigInteger.valueOf( numerator ), BigInteger.ONE );
+        else {
+            this .num = numerator;
+            this .den = 1l;
+        }
+    }
+
+    // create a BigRational from a numerator and denominator already known to be in reduced form,
+    //   with den > 0, and neither one equal to Long.MIN_VALUE
+    private BigRational()
+    {
+    }
+
+    private static BigRational reduced( long numerator, long denominator )
+    {
+        BigRational result = new BigRational();
+        result .num = numerator;
+        result .den = denominator;
+        return result;
     }
 
     // create and initialize a new BigRational object from a string, e.g., "-343/1273"
@@ -91,6 +113,12 @@ public class BigRational implements Comparable<BigRational>, Fields.Element {
            throw new RuntimeException("Denominator is zero");
         }
 
+        // Long.MIN_VALUE cannot be negated, so it never appears in the long representation
+        if ( numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE ) {
+            init( BigInteger.valueOf( numerator ), BigInteger.valueOf( denominator ) );
+            return;
+        }
+
         // reduce fraction
         long g = gcd( numerator, denominator );
         this .num = numerator / g;
@@ -116,13 +144,25 @@ public class BigRational implements Comparable<BigRational>, Fields.Element {
         bigDen = denominator.divide(g);
 
         // to ensure invariant that denominator is positive
-        if (bigDen.compareTo(BigInteger.ZERO) < 0) {
+        if (bigDen.signum() < 0) {
             bigDen = bigDen.negate();
             bigNum = bigNum.negate();
         }
+
+        // demote to the long representation whenever the result fits,
+        //   so that each value has exactly one representation
+        if ( bigNum .bitLength() < 64 && bigDen .bitLength() < 64 ) {
+            long n = bigNum .longValue();
+            if ( n != Long.MIN_VALUE ) {
+                this .num = n;
+                this .den = bigDen .longValue();
+                this .bigNum = null;
+                this .bigDen = null;
+            }
+        }
     }
     
-    private final static long gcd( long u, long v )
+    final static long gcd( long u, long v )
     {
         // TODO implement faster binary GCD, ala Knuth 4.5.2 (see the BigInteger implementation)
         u = Math.abs( u );
@@ -156,9 +196,28 @@ public class BigRational implements Comparable<BigRational>, Fields.Element {
         }
     }
     
+    /**
+     * Check whether a * b overflows a long, using the same test as Math.multiplyExact,
+     * but without throwing.
+     * Since neither argument is ever Long.MIN_VALUE, the product is exact when this returns false.
+     */
     private static final boolean multOverflow( long a, long b )
     {
-        return false; // TODO check for overflow and throw an exception
+        long ax = Math.abs( a );
+        long bx = Math.abs( b );
+        if ( ( ( ax | bx ) >>> 31 ) == 0 )
+            return false; // both fit in 31 bits, so the product fits in 62
+        long r = a * b;
+        return ( b != 0 && r / b != a ) || r == Long.MIN_VALUE;
+    }
+
+    /**
+     * Check whether a + b overflows a long, or produces Long.MIN_VALUE.
+     */
+    private static final boolean addOverflow( long a, long b )
+    {
+        long r = a + b;
+        return ( ( a ^ r ) & ( b ^ r ) ) < 0 || r == Long.MIN_VALUE;
     }
 
     // return { -1, 0, + 1 } if a < b, a = b, or a > b
@@ -166,45 +225,48 @@ public class BigRational implements Comparable<BigRational>, Fields.Element {
     public int compareTo( BigRational b )
     {
         BigRational a = this;
+        if ( a == b )
+            return 0;
+        int aSign = a .signum();
+        int bSign = b .signum();
+        if ( aSign != bSign )
+            return Integer .compare( aSign, bSign );
         if ( a .bigNum == null && b .bigNum == null )
         {
-            if ( multOverflow( a.num, b.den ) || multOverflow( a.den, b.num ) )
-                return a .big() .compareTo( b .big() );
-            else
+            if ( a.den == b.den )
+                return Long .compare( a.num, b.num );
+            if ( ! multOverflow( a.num, b.den ) && ! multOverflow( a.den, b.num ) )
                 return Long .compare( a.num * b.den, a.den * b.num );
         }
-        else
-        {
-            // either one may be non-big
-            a = a .big();
-            b = b .big();
-            return a .bigNum .multiply( b.bigDen ) .compareTo( a.bigDen .multiply( b.bigNum ) );
-        }
+        // either one may be non-big
+        return a .getNumerator() .multiply( b .getDenominator() ) .compareTo( a .getDenominator() .multiply( b .getNumerator() ) );
     }
 
-    /**
-     * Convert to BigInteger form, if necessary.
-     * @return
-     */
-    private BigRational big()
+    private int signum()
     {
         if ( this .bigNum == null )
-            // this is expensive, but should be necessary only very rarely
-            return new BigRational( new BigInteger( Long .toString( this .num ) ), new BigInteger( Long .toString( this .den ) ) );
+            return Long .signum( this .num );
         else
-            return this;
+            return this .bigNum .signum();
     }
 
+    // access to the long representation, for AlgebraicNumber
+    boolean isBig()           { return this .bigNum != null; }
+    long getLongNumerator()   { return this .num; }
+    long getLongDenominator() { return this .den; }
+
     // is this BigRational negative, zero, or positive?
+    // Since 0/1 and 1/1 always use the long representation, these need no comparison.
     @Override
-    public boolean isZero()     { return this .equals(ZERO); }
-    public boolean isPositive() { return compareTo(ZERO)  > 0; }
-    public boolean isNegative() { return compareTo(ZERO)  < 0; }
+    public boolean isZero()     { return this .bigNum == null && this .num == 0l; }
+    public boolean isPositive() { return signum() > 0; }
+    public boolean isNegative() { return signum() < 0; }
 
     @Override
-    public boolean isOne() { return this.equals(ONE); }
+    public boolean isOne() { return this .bigNum == null && this .num == 1l && this .den == 1l; }
 
     // is this Rational object equal to y?
+    // Every value has a unique reduced representation, so no cross-multiplication is needed.
     @Override
     public boolean equals( Object y )
     {
@@ -212,14 +274,25 @@ public class BigRational implements Comparable<BigRational>, Fields.Element {
         if ( y == null ) return false;  
         if ( y .getClass() != this .getClass() ) return false;
         BigRational b = (BigRational) y;
-        return this .compareTo( b ) == 0;
+        if ( this .bigNum == null )
+            return b .bigNum == null && this .num == b .num && this .den == b .den;
+        else
+            return b .bigNum != null && this .bigNum .equals( b .bigNum ) && this .bigDen .equals( b .bigDen );
     }
-        
-    // hashCode consistent with equals() and compareTo()
+
+    // hashCode consistent with equals() and compareTo(), computed numerically rather than from toString()
     @Override
     public int hashCode()
     {
-        return this .toString() .hashCode();
+        int h = this .hash;
+        if ( h == 0 ) {
+            if ( this .bigNum == null )
+                h = 31 * Long .hashCode( this .num ) + Long .hashCode( this .den );
+            else
+                h = 31 * this .bigNum .hashCode() + this .bigDen .hashCode();
+            this .hash = h;
+        }
+        return h;
     }
 
     public double getReal()
@@ -240,18 +313,16 @@ public class BigRational implements Comparable<BigRational>, Fields.Element {
         BigRational a = this;
         if ( a .bigNum == null && b .bigNum == null )
         {
-            if ( multOverflow( a.num, b.num ) || multOverflow( a.den, b.den ) )
-                return a .big() .times( b .big() );
-            else
-                return new BigRational( a.num * b.num, a.den * b.den );
-        }
-        else
-        {
-            // either one may be non-big
-            a = a .big();
-            b = b .big();
-            return new BigRational( a .bigNum .multiply( b .bigNum ), a .bigDen .multiply( b .bigDen ) );
+            // cross-reduce first, so the product is already in lowest terms, and less likely to overflow
+            long g1 = gcd( a.num, b.den );
+            long g2 = gcd( b.num, a.den );
+            long n1 = a.num / g1, d2 = b.den / g1;
+            long n2 = b.num / g2, d1 = a.den / g2;
+            if ( ! multOverflow( n1, n2 ) && ! multOverflow( d1, d2 ) )
+                return reduced( n1 * n2, d1 * d2 );
         }
+        // either one may be non-big
+        return new BigRational( a .getNumerator() .multiply( b .getNumerator() ), a .getDenominator() .multiply( b .getDenominator() ) );
     }
 
     // return a + b
@@ -262,26 +333,38 @@ public class BigRational implements Comparable<BigRational>, Fields.Element {
         BigRational a = this;
         if ( a .bigNum == null && b .bigNum == null )
         {
-            if ( multOverflow( a.num, b.den ) || multOverflow( a.den, b.num ) || multOverflow( a.den, b.den ) )
-                return a .big() .plus( b .big() );
-            else
-                return new BigRational( a.num * b.den + a.den * b.num, a.den * b.den );
-        }
-        else
-        {
-            // either one may be non-big
-            a = a .big();
-            b = b .big();
-            BigInteger numerator   = a .bigNum .multiply( b .bigDen ) .add( b .bigNum .multiply( a .bigDen ) );
-            BigInteger denominator = a .bigDen .multiply( b .bigDen );
-            return new BigRational( numerator, denominator );
+            if ( a.den == b.den ) {
+                if ( ! addOverflow( a.num, b.num ) )
+                    return ( a.den == 1l )? reduced( a.num + b.num, 1l ) : new BigRational( a.num + b.num, a.den );
+            }
+            else {
+                // Knuth 4.5.1: divide out the common factor of the denominators before multiplying
+                long d1 = gcd( a.den, b.den );
+                long aDen = a.den / d1, bDen = b.den / d1;
+                if ( ! multOverflow( a.num, bDen ) && ! multOverflow( b.num, aDen ) && ! multOverflow( aDen, b.den ) ) {
+                    long left = a.num * bDen, right = b.num * aDen;
+                    if ( ! addOverflow( left, right ) ) {
+                        long t = left + right;
+                        if ( t == 0l )
+                            return ZERO;
+                        if ( d1 == 1l )
+                            return reduced( t, aDen * b.den ); // already in lowest terms
+                        long d2 = gcd( t, d1 );
+                        return reduced( t / d2, aDen * ( b.den / d2 ) );
+                    }
+                }
+            }
         }
+        // either one may be non-big
+        BigInteger numerator   = a .getNumerator() .multiply( b .getDenominator() ) .add( b .getNumerator() .multiply( a .getDenominator() ) );
+        BigInteger denominator = a .getDenominator() .multiply( b .getDenominator() );
+        return new BigRational( numerator, denominator );
     }
 
     public BigInteger getNumerator()
     {
         if ( this.bigNum == null )
-            return new BigInteger( this .num + "" );
+            return BigInteger .valueOf( this .num );
         else
             return this .bigNum;
     }
@@ -289,7 +372,7 @@ public class BigRational implements Comparable<BigRational>, Fields.Element {
     public BigInteger getDenominator()
     {
         if ( this.bigNum == null )
-            return new BigInteger( this .den + "" );
+            return BigInteger .valueOf( this .den );
         else
             return this .bigDen;
     }
@@ -302,7 +385,7 @@ public class BigRational implements Comparable<BigRational>, Fields.Element {
             return this;
         if ( this.bigNum == null )
         {
-            return new BigRational( - this.num, this.den );
+            return reduced( - this.num, this.den );
         }
         else
         {
@@ -327,7 +410,9 @@ public class BigRational implements Comparable<BigRational>, Fields.Element {
             return this;
         if ( this.bigNum == null )
         {
-            return new BigRational( this.den, this.num );
+            if ( this .num == 0l )
+                throw new RuntimeException("Denominator is zero");
+            return this .num < 0l? reduced( - this.den, - this.num ) : reduced( this.den, this.num );
         }
         else
         {
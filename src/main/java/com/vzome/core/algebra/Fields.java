@@ -118,4 +118,80 @@ public class Fields
                 }
         }
     }
+
+    /**
+     * Reduce a square matrix to the identity in place, applying the same row operations to the adjoined matrix,
+     * so the adjoined matrix ends up multiplied by the inverse.
+     * Unlike gaussJordanReduction, this modifies the matrix argument.
+     * This is Bareiss' fraction-free elimination, in its Gauss-Jordan form:
+     * rather than normalizing each pivot row, every step cross-multiplies by the pivot
+     * and divides exactly by the previous pivot, so every intermediate entry is a minor of the original matrix.
+     * For a matrix of integers, the entries stay integers, rather than accumulating denominators,
+     * and only the final scaling by the determinant needs a true division.
+     * Like gaussJordanReduction, this stops quietly on a singular matrix.
+     * @return the determinant, up to sign, or null if the matrix is singular
+     */
+    public static final Element fractionFreeReduction( Element[][] matrix, Element[][] adjoined )
+    {
+        int n = matrix.length;
+        Element previous = null; // the previous pivot; null for one
+        for ( int k = 0; k < n; k++ )
+        {
+            int pivot = -1;
+            for ( int i = k; i < n; i++ ) {
+                if ( ! matrix[ i ][ k ] .isZero() ) {
+                    pivot = i;
+                    break;
+                }
+            }
+            if ( pivot < 0 )
+                return null;
+            if ( pivot != k ) {
+                Element[] temp = matrix[ k ];
+                matrix[ k ] = matrix[ pivot ];
+                matrix[ pivot ] = temp;
+                temp = adjoined[ k ];
+                adjoined[ k ] = adjoined[ pivot ];
+                adjoined[ pivot ] = temp;
+            }
+
+            Element top = matrix[ k ][ k ];
+            Element divisor = ( previous == null )? null : previous .reciprocal();
+            for ( int i = 0; i < n; i++ ) {
+                if ( i == k )
+                    continue;
+                Element factor = matrix[ i ][ k ];
+                // m[i,j] = ( m[k,k] * m[i,j] - m[i,k] * m[k,j] ) / previous, for every j but k
+                for ( int j = 0; j < n; j++ )
+                    if ( j != k )
+                        matrix[ i ][ j ] = crossMultiply( top, matrix[ i ][ j ], factor, matrix[ k ][ j ], divisor );
+                for ( int j = 0; j < adjoined[ 0 ].length; j++ )
+                    adjoined[ i ][ j ] = crossMultiply( top, adjoined[ i ][ j ], factor, adjoined[ k ][ j ], divisor );
+                matrix[ i ][ k ] = factor .plus( factor .negate() ); // zero it out
+            }
+            previous = top;
+        }
+
+        // now matrix is a multiple of the identity, so one division finishes the job
+        Element scale = previous .reciprocal();
+        for ( int i = 0; i < n; i++ ) {
+            matrix[ i ][ i ] = matrix[ i ][ i ] .times( scale );
+            for ( int j = 0; j < adjoined[ 0 ].length; j++ )
+                adjoined[ i ][ j ] = adjoined[ i ][ j ] .times( scale );
+        }
+        return previous;
+    }
+
+    // return ( a * b - c * d ) * divisor
+    private static Element crossMultiply( Element a, Element b, Element c, Element d, Element divisor )
+    {
+        if ( c .isZero() || d .isZero() ) {
+            if ( b .isZero() )
+                return b;
+            Element result = a .times( b );
+            return ( divisor == null )? result : result .times( divisor );
+        }
+        Element result = a .times( b ) .plus( c .times( d ) .negate() );
+        return ( divisor == null )? result : result .times( divisor );
+    }
 }
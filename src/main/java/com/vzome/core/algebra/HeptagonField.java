@@ -34,7 +34,7 @@ public class HeptagonField extends AlgebraicField
     }
     
     @Override
-    public final BigRational[] multiply( BigRational[] first, BigRational[] second )
+    BigRational[] referenceMultiply( BigRational[] first, BigRational[] second )
     {
         BigRational a = first[ A ], b = first[ B ], c = first[ C ];
         BigRational d = second[ A ], e = second[ B ], f = second[ C ];
@@ -0,0 +1,250 @@
+package com.vzome.core.algebra;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+/**
+ * Exact sign determination for the numbers of an AlgebraicField.
+ *
+ * Every field here is generated by a single irrational theta (phi, rho, root-two, xi, ...),
+ * so every AlgebraicNumber is p( theta ) for some rational polynomial p of degree less than the order.
+ * Theta is isolated as the only root of its minimal polynomial in an interval with BigDecimal
+ * endpoints, so the sign of p( theta ) can be decided with exact arithmetic: p( theta ) is never
+ * zero unless p is, and once the interval is narrow enough, the value at its midpoint dominates
+ * any possible variation across the interval.
+ *
+ * Everything is derived from the field's structure constants; the field's own double value for theta
+ * is used only to find the initial interval.
+ * This also gives an accurate double for each irrational, with a known error bound, for the interval
+ * tests that AlgebraicNumber uses before falling back to signum().
+ */
+final class MinimalPolynomial
+{
+    private static final BigDecimal HALF = new BigDecimal( "0.5" );
+
+    private static final int INITIAL_BITS = 200, BITS_PER_STEP = 32;
+
+    // integer coefficients of the minimal polynomial of theta, constant term first
+    private final BigInteger[] coefficients;
+
+    // basisInPowers[ i ][ k ] is the coefficient of theta^k in the i-th irrational
+    private final BigRational[][] basisInPowers;
+
+    private final double[] irrationalValues;
+
+    // the isolating interval for theta, narrowed as needed; guarded by this
+    private BigDecimal lower, upper;
+    private int lowerSign;
+
+    MinimalPolynomial( AlgebraicField field, double[] approximateValues )
+    {
+        int order = field .getOrder();
+        this .basisInPowers = new BigRational[ order ][];
+        BigRational[][] powers = null;
+        int generator = 0;
+        if ( order == 1 ) {
+            this .basisInPowers[ 0 ] = new BigRational[]{ BigRational.ONE };
+            this .coefficients = new BigInteger[]{ BigInteger.ONE .negate(), BigInteger.ONE }; // t - 1
+        }
+        else {
+            // find an irrational whose powers span the field
+            for ( generator = 1; generator < order; generator++ ) {
+                powers = powersOf( field, generator, order );
+                if ( invert( powers, this .basisInPowers ) )
+                    break;
+            }
+            if ( generator == order )
+                throw new IllegalStateException( "Field \"" + field .getName() + "\" has no primitive irrational" );
+
+            // theta^n = sum_k c_k theta^k, so the minimal polynomial is t^n - sum_k c_k t^k
+            BigRational[] monic = new BigRational[ order + 1 ];
+            monic[ order ] = BigRational.ONE;
+            BigRational[] highest = this .inPowers( powers[ order ] );
+            for ( int k = 0; k < order; k++ ) {
+                monic[ k ] = highest[ k ] .negate();
+            }
+            this .coefficients = integral( monic );
+        }
+
+        // bracket theta, starting from the field's approximation
+        double theta = approximateValues[ generator ];
+        BigDecimal width = new BigDecimal( 1e-6 * Math .max( 1d, Math .abs( theta ) ) );
+        this .lower = new BigDecimal( theta ) .subtract( width );
+        this .upper = new BigDecimal( theta ) .add( width );
+        this .lowerSign = evaluate( this .coefficients, this .lower ) .signum();
+        if ( this .lowerSign == 0 || this .lowerSign == evaluate( this .coefficients, this .upper ) .signum() )
+            throw new IllegalStateException( "Field \"" + field .getName() + "\" has an inaccurate irrational value" );
+        this .narrow( INITIAL_BITS );
+
+        BigDecimal midpoint = this .lower .add( this .upper ) .multiply( HALF );
+        this .irrationalValues = new double[ order ];
+        for ( int i = 0; i < order; i++ ) {
+            BigInteger[] p = integral( this .basisInPowers[ i ] );
+            BigDecimal scale = new BigDecimal( integralScale( this .basisInPowers[ i ] ) );
+            // the midpoint is within 2^-200 of theta, so this is correctly rounded for any practical purpose
+            this .irrationalValues[ i ] = evaluate( p, midpoint ) .divide( scale, MathContext.DECIMAL128 ) .doubleValue();
+        }
+    }
+
+    /**
+     * The value of each irrational, correctly rounded, so within one ulp.
+     */
+    double[] getIrrationalValues()
+    {
+        return this .irrationalValues;
+    }
+
+    /**
+     * @return the exact sign of the number with these factors
+     */
+    int signum( BigRational[] factors )
+    {
+        int order = factors .length;
+        BigRational[] sum = new BigRational[ order ];
+        for ( int k = 0; k < order; k++ ) {
+            sum[ k ] = BigRational.ZERO;
+        }
+        boolean zero = true;
+        for ( int i = 0; i < order; i++ ) {
+            if ( factors[ i ] .isZero() )
+                continue;
+            zero = false;
+            for ( int k = 0; k < order; k++ ) {
+                if ( ! this .basisInPowers[ i ][ k ] .isZero() )
+                    sum[ k ] = sum[ k ] .plus( factors[ i ] .times( this .basisInPowers[ i ][ k ] ) );
+            }
+        }
+        if ( zero )
+            return 0;
+        BigInteger[] p = integral( sum );
+        BigInteger[] derivativeBound = new BigInteger[ order ];
+        for ( int k = 1; k < order; k++ ) {
+            derivativeBound[ k - 1 ] = p[ k ] .abs() .multiply( BigInteger .valueOf( k ) );
+        }
+        derivativeBound[ order - 1 ] = BigInteger.ZERO;
+
+        // p( theta ) != 0, since p is nonzero and has lower degree than the minimal polynomial,
+        //   so this terminates once the interval is narrow enough
+        while ( true ) {
+            BigDecimal lo, hi;
+            synchronized ( this ) {
+                lo = this .lower;
+                hi = this .upper;
+            }
+            BigDecimal midpoint = lo .add( hi ) .multiply( HALF );
+            BigDecimal radius = hi .subtract( lo ) .multiply( HALF );
+            BigDecimal value = evaluate( p, midpoint );
+            // | p( theta ) - p( midpoint ) | <= radius * max | p' | over the interval
+            BigDecimal variation = radius .multiply( evaluate( derivativeBound, lo .abs() .max( hi .abs() ) ) );
+            if ( value .abs() .compareTo( variation ) > 0 )
+                return value .signum();
+            synchronized ( this ) {
+                if ( this .lower == lo )
+                    this .narrow( BITS_PER_STEP );
+            }
+        }
+    }
+
+    // bisection, keeping the sign change of the minimal polynomial inside the interval
+    private void narrow( int bits )
+    {
+        for ( int i = 0; i < bits; i++ ) {
+            BigDecimal midpoint = this .lower .add( this .upper ) .multiply( HALF );
+            int sign = evaluate( this .coefficients, midpoint ) .signum();
+            if ( sign == 0 ) {
+                // cannot happen for an irreducible polynomial of degree > 1, but a rational root is harmless
+                this .lower = midpoint;
+                this .upper = midpoint;
+                return;
+            }
+            if ( sign == this .lowerSign )
+                this .lower = midpoint;
+            else
+                this .upper = midpoint;
+        }
+    }
+
+    // Horner's rule, exactly
+    private static BigDecimal evaluate( BigInteger[] p, BigDecimal t )
+    {
+        BigDecimal result = BigDecimal.ZERO;
+        for ( int k = p.length - 1; k >= 0; k-- ) {
+            result = result .multiply( t ) .add( new BigDecimal( p[ k ] ) );
+        }
+        return result;
+    }
+
+    private BigRational[] inPowers( BigRational[] factors )
+    {
+        int order = factors .length;
+        BigRational[] result = new BigRational[ order ];
+        for ( int k = 0; k < order; k++ ) {
+            result[ k ] = BigRational.ZERO;
+            for ( int i = 0; i < order; i++ ) {
+                result[ k ] = result[ k ] .plus( factors[ i ] .times( this .basisInPowers[ i ][ k ] ) );
+            }
+        }
+        return result;
+    }
+
+    // the coordinates of theta^0 .. theta^order, where theta is the given irrational
+    private static BigRational[][] powersOf( AlgebraicField field, int generator, int order )
+    {
+        BigRational[][] powers = new BigRational[ order + 1 ][];
+        powers[ 0 ] = field .one() .getFactors();
+        for ( int k = 1; k <= order; k++ ) {
+            powers[ k ] = field .scaleBy( powers[ k - 1 ], generator );
+        }
+        return powers;
+    }
+
+    // inverse of the first rows of powers, or false if they are not independent
+    private static boolean invert( BigRational[][] powers, BigRational[][] inverse )
+    {
+        int order = inverse .length;
+        BigRational[][] matrix = new BigRational[ order ][];
+        for ( int i = 0; i < order; i++ ) {
+            matrix[ i ] = powers[ i ];
+            inverse[ i ] = new BigRational[ order ];
+            for ( int j = 0; j < order; j++ ) {
+                inverse[ i ][ j ] = ( i == j )? BigRational.ONE : BigRational.ZERO;
+            }
+        }
+        Fields .gaussJordanReduction( matrix, inverse );
+        // gaussJordanReduction stops quietly on a singular matrix, so check the product
+        for ( int i = 0; i < order; i++ ) {
+            for ( int j = 0; j < order; j++ ) {
+                BigRational sum = BigRational.ZERO;
+                for ( int k = 0; k < order; k++ ) {
+                    sum = sum .plus( matrix[ i ][ k ] .times( inverse[ k ][ j ] ) );
+                }
+                if ( ! ( ( i == j )? sum .isOne() : sum .isZero() ) )
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    // the least common denominator of the coefficients
+    private static BigInteger integralScale( BigRational[] p )
+    {
+        BigInteger lcm = BigInteger.ONE;
+        for ( BigRational c : p ) {
+            BigInteger den = c .getDenominator();
+            lcm = lcm .multiply( den ) .divide( lcm .gcd( den ) );
+        }
+        return lcm;
+    }
+
+    // a positive multiple of p, with integer coefficients
+    private static BigInteger[] integral( BigRational[] p )
+    {
+        BigInteger lcm = integralScale( p );
+        BigInteger[] result = new BigInteger[ p .length ];
+        for ( int k = 0; k < p .length; k++ ) {
+            result[ k ] = p[ k ] .getNumerator() .multiply( lcm .divide( p[ k ] .getDenominator() ) );
+        }
+        return result;
+    }
+}
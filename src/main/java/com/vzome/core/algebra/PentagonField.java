@@ -34,7 +34,7 @@ public final class PentagonField extends AlgebraicField
     private final AlgebraicNumber defaultStrutScaling;
     
     @Override
-    public final BigRational[] multiply( BigRational[] v1, BigRational[] v2 )
+    BigRational[] referenceMultiply( BigRational[] v1, BigRational[] v2 )
     {
     	BigRational phis = v1[PHIS_PLACE] .times( v2[ONES_PLACE] ) .plus( v1[ONES_PLACE] .times( v2[PHIS_PLACE] ) ) .plus( v1[PHIS_PLACE] .times( v2[PHIS_PLACE] ) );
     	BigRational ones = v1[ONES_PLACE] .times( v2[ONES_PLACE] ) .plus( v1[PHIS_PLACE] .times( v2[PHIS_PLACE] ) );
@@ -53,6 +53,13 @@ public final class PentagonField extends AlgebraicField
         return new BigRational[]{ ones, phis };
     }
 
+    @Override
+    long[] adjugate( long[] v )
+    {
+        // the conjugate of a + b*phi is a + b - b*phi
+        return new long[]{ Math .addExact( v[ ONES_PLACE ], v[ PHIS_PLACE ] ), - v[ PHIS_PLACE ] };
+    }
+
     @Override
     public void defineMultiplier( StringBuffer buf, int which )
     {
@@ -11,7 +11,7 @@ public class Quaternion
 		return "Quaternion: " + vector .toString();
 	}
 
-	AlgebraicMatrix representation, transpose;
+	AlgebraicMatrix representation, transpose, leftRepresentation;
     
     private final AlgebraicField field;
     
@@ -79,6 +79,18 @@ public class Quaternion
         factor = factor .negate();
         transpose .setElement( 3, 0, factor );
         transpose .setElement( 2, 1, factor );
+
+        // conjugate( transpose * conjugate( q ) ) == C * transpose * C * q, where C = diag( 1, -1, -1, -1 ),
+        //  so leftMultiply can be a single matrix product
+        leftRepresentation = new AlgebraicMatrix( field, 4 );
+        for ( int i = 0; i < 4; i++ ) {
+            for ( int j = 0; j < 4; j++ ) {
+                AlgebraicNumber element = transpose .getElement( i, j );
+                if ( ( i == 0 ) != ( j == 0 ) )
+                    element = element .negate();
+                leftRepresentation .setElement( i, j, element );
+            }
+        }
     }
     
     private AlgebraicVector conjugate( AlgebraicVector q )
@@ -114,13 +126,13 @@ public class Quaternion
      *     
      *     q * this == conjugate( conjugate( this ) * conjugate( q ) )
      *     
+     * The conjugations are folded into leftRepresentation when this is constructed.
+     * 
      * @param q
      * @return
      */
     public AlgebraicVector leftMultiply( AlgebraicVector q )
     {
-        AlgebraicVector result = conjugate( q );
-        result = transpose .timesColumn( result );  // transpose is the same as the conjugate of representation
-        return conjugate( result );
+        return leftRepresentation .timesColumn( q );
     }
 }
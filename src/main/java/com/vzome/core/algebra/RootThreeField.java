@@ -28,7 +28,7 @@ public class RootThreeField extends AlgebraicField
     }
 
     @Override
-    public final BigRational[] multiply( BigRational[] first, BigRational[]  second )
+    BigRational[] referenceMultiply( BigRational[] first, BigRational[]  second )
     {
         BigRational sqrt3s = first[ SQRT3_PLACE ].times( second[ ONES_PLACE ]) .plus( first[ ONES_PLACE ].times( second[ SQRT3_PLACE ]) );
         BigRational ones = first[ ONES_PLACE ].times( second[ ONES_PLACE ] ) .plus( first[ SQRT3_PLACE ].times( second[ SQRT3_PLACE ] ) .times( THREE ) );
@@ -36,6 +36,21 @@ public class RootThreeField extends AlgebraicField
         return new BigRational[]{ ones, sqrt3s };
     }
 
+    @Override
+    protected BigRational[] reciprocal( BigRational[] v )
+    {
+        // 1 / ( a + b*sqrt(3) ) = ( a - b*sqrt(3) ) / ( a^2 - 3*b^2 )
+        BigRational denominator = v[ ONES_PLACE ] .times( v[ ONES_PLACE ] ) .minus( v[ SQRT3_PLACE ] .times( v[ SQRT3_PLACE ] ) .times( THREE ) );
+        return new BigRational[]{ v[ ONES_PLACE ] .divides( denominator ), v[ SQRT3_PLACE ] .negate() .divides( denominator ) };
+    }
+
+    @Override
+    long[] adjugate( long[] v )
+    {
+        // the conjugate of a + b*sqrt(3) is a - b*sqrt(3)
+        return new long[]{ v[ ONES_PLACE ], - v[ SQRT3_PLACE ] };
+    }
+
     @Override
     public int getOrder()
     {
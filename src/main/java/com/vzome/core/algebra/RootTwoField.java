@@ -35,7 +35,7 @@ public class RootTwoField extends AlgebraicField
     private static final int ONES_PLACE = 0, SQRT2_PLACE = 1;
 
     @Override
-    public final BigRational[] multiply( BigRational[] first, BigRational[]  second )
+    BigRational[] referenceMultiply( BigRational[] first, BigRational[]  second )
     {
         BigRational sqrt2s = first[ SQRT2_PLACE ].times( second[ ONES_PLACE ]) .plus( first[ ONES_PLACE ].times( second[ SQRT2_PLACE ]) );
         BigRational ones = first[ ONES_PLACE ].times( second[ ONES_PLACE ] ) .plus( first[ SQRT2_PLACE ].times( second[ SQRT2_PLACE ] ) .times( TWO ) );
@@ -43,6 +43,21 @@ public class RootTwoField extends AlgebraicField
         return new BigRational[]{ ones, sqrt2s };
     }
 
+    @Override
+    protected BigRational[] reciprocal( BigRational[] v )
+    {
+        // 1 / ( a + b*sqrt(2) ) = ( a - b*sqrt(2) ) / ( a^2 - 2*b^2 )
+        BigRational denominator = v[ ONES_PLACE ] .times( v[ ONES_PLACE ] ) .minus( v[ SQRT2_PLACE ] .times( v[ SQRT2_PLACE ] ) .times( TWO ) );
+        return new BigRational[]{ v[ ONES_PLACE ] .divides( denominator ), v[ SQRT2_PLACE ] .negate() .divides( denominator ) };
+    }
+
+    @Override
+    long[] adjugate( long[] v )
+    {
+        // the conjugate of a + b*sqrt(2) is a - b*sqrt(2)
+        return new long[]{ v[ ONES_PLACE ], - v[ SQRT2_PLACE ] };
+    }
+
     @Override
     public AlgebraicNumber getDefaultStrutScaling()
     {
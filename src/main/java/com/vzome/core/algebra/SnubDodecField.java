@@ -24,7 +24,7 @@ public class SnubDodecField extends AlgebraicField
      * so it should be bulletproof.
      */
     @Override
-    public BigRational[] multiply( BigRational[] a, BigRational[] b )
+    BigRational[] referenceMultiply( BigRational[] a, BigRational[] b )
     {
         BigRational[] result = new BigRational[ this .getOrder() ];
 
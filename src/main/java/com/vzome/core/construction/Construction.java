@@ -6,6 +6,7 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
 import com.vzome.core.algebra.AlgebraicField;
+import com.vzome.core.generic.IdSpace;
 
   
 
@@ -62,8 +63,6 @@ public abstract class Construction
     
     private static final long NO_ID = -1;
     
-    private static long NEXT_ID = 0;
-    
     protected Construction( AlgebraicField field )
     {
         this.field = field;
@@ -79,10 +78,15 @@ public abstract class Construction
         mId = NO_ID;
     }
     
-    public long getId()
+    /**
+     * Not thread-safe; see IdSpace.
+     * @param ids the id space of the document that owns this construction
+     * @return this construction's id, allocating it from ids if it has none
+     */
+    public long getId( IdSpace ids )
     {
     	if ( mId == NO_ID )
-    		mId = NEXT_ID++;
+    		mId = ids .next();
     	return mId;
     }
     
@@ -8,6 +8,7 @@ import org.w3c.dom.Element;
 import com.vzome.core.algebra.AlgebraicField;
 import com.vzome.core.algebra.AlgebraicMatrix;
 import com.vzome.core.algebra.AlgebraicVector;
+import com.vzome.core.algebra.AlgebraicVectorAccumulator;
 
 /**
  * @author Scott Vorthmann
@@ -103,10 +104,10 @@ public abstract class Transformation extends Construction
 
     public AlgebraicVector transform( AlgebraicVector arg )
     {
-        arg = arg .minus( mOffset );
-        arg = mTransform .timesColumn( arg );
-        arg = arg .plus( mOffset );
-        return arg;
+        // return mOffset + mTransform * ( arg - mOffset )
+        return new AlgebraicVectorAccumulator( mOffset )
+                .addProduct( mTransform, arg .minus( mOffset ) )
+                .toAlgebraicVector();
     }
 
     @Override
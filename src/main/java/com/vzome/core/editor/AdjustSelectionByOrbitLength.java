@@ -11,6 +11,8 @@ import com.vzome.core.model.Manifestation;
 import com.vzome.core.model.Panel;
 import com.vzome.core.model.RealizedModel;
 import com.vzome.core.model.Strut;
+import com.vzome.core.render.RenderedModel;
+import java.util.List;
 import org.w3c.dom.Element;
 
 /**
@@ -26,14 +28,25 @@ public class AdjustSelectionByOrbitLength extends ChangeSelection
     private AlgebraicNumber length;
     private final RealizedModel model;
     private final SymmetrySystem symmetry;
+    private final RenderedModel rendered;
     private ActionEnum strutAction = ActionEnum.IGNORE;
     private ActionEnum panelAction = ActionEnum.IGNORE;
 
     public AdjustSelectionByOrbitLength(SymmetrySystem symmetry, Direction orbit, AlgebraicNumber length,
             Selection selection, RealizedModel model, ActionEnum struts, ActionEnum panels) {
+        this(symmetry, orbit, length, selection, model, null, struts, panels);
+    }
+
+    /**
+     * @param rendered the model rendering this one, whose orbit index can answer for the symmetry system
+     * without any axis lookups; may be null
+     */
+    public AdjustSelectionByOrbitLength(SymmetrySystem symmetry, Direction orbit, AlgebraicNumber length,
+            Selection selection, RealizedModel model, RenderedModel rendered, ActionEnum struts, ActionEnum panels) {
         super(selection, false);
         this.symmetry = symmetry;
         this.model = model;
+        this.rendered = rendered;
         this.orbit = orbit;
         this.length = length;
         this.strutAction = struts;
@@ -54,6 +67,40 @@ public class AdjustSelectionByOrbitLength extends ChangeSelection
      */
     @Override
     public void perform() throws Failure {
+        if (strutAction == ActionEnum.SELECT && panelAction == ActionEnum.IGNORE) {
+            // The common case of selecting similar struts.
+            // When the rendered model uses our symmetry system, it has already grouped the struts by orbit and length.
+            List<Manifestation> similar = (rendered == null) ? null : rendered.getSimilarStruts(symmetry, orbit, length);
+            if (similar != null) {
+                for (Manifestation man : similar) {
+                    adjustSelection(man, strutAction);
+                }
+                redo();
+                return;
+            }
+            // Otherwise, the line index groups struts by direction, so we only need to find the axis
+            // of each distinct direction, rather than of every strut in the model.
+            for (Strut strut : model.getLineIndex().getStruts(this::isInOrbit)) {
+                if (strut.getRenderedObject() != null) {
+                    AlgebraicVector offset = strut.getOffset();
+                    if (this.length == null || this.length.equals(symmetry.getLength(offset))) {
+                        adjustSelection(strut, strutAction);
+                    }
+                }
+            }
+            redo();
+            return;
+        }
+        if (strutAction == ActionEnum.IGNORE && panelAction == ActionEnum.SELECT && rendered != null) {
+            List<Manifestation> similar = rendered.getSimilarPanels(symmetry, orbit);
+            if (similar != null) {
+                for (Manifestation man : similar) {
+                    adjustSelection(man, panelAction);
+                }
+                redo();
+                return;
+            }
+        }
         // if any action is a SELECT, then we have to use model
         // otherwise we will use mSelection because it may be a shorter list
         Iterable<Manifestation> whichManifestationSet = (
@@ -68,7 +115,7 @@ public class AdjustSelectionByOrbitLength extends ChangeSelection
                     AlgebraicVector offset = ((Strut) man).getOffset();
                     Axis zone = symmetry.getAxis(offset);
                     if (zone.getOrbit() == this.orbit) {
-                        if (this.length == null || this.length.equals(zone.getLength(offset))) {
+                        if (this.length == null || this.length.equals(symmetry.getLength(offset))) {
                             adjustSelection(man, strutAction);
                         }
                     }
@@ -84,6 +131,11 @@ public class AdjustSelectionByOrbitLength extends ChangeSelection
         redo();
     }
 
+    private boolean isInOrbit(Strut strut) {
+        Axis zone = symmetry.getAxis(strut.getOffset());
+        return zone != null && zone.getOrbit() == this.orbit;
+    }
+
     @Override
     protected String getXmlElementName() {
         return "AdjustSelectionByOrbitLength";
@@ -8,9 +8,13 @@ import java.io.InputStream;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.vecmath.Vector3f;
@@ -62,7 +66,13 @@ public class Application
     
     private final Properties properties;
 
-    private Map<String, Exporter3d> exporters = new HashMap<>();
+    // Exporters are created on first use, like field applications, from these factories.
+    private final Map<String, Supplier<Exporter3d>> exporterFactories = new HashMap<>();
+
+    private final Map<String, Exporter3d> exporters = new HashMap<>();
+
+    // what has been loaded lazily so far, and how many nanoseconds each took; see getLoadReport()
+    private final Map<String, Long> loadTimes = new LinkedHashMap<>();
 
     private Lights mLights = new Lights();
     
@@ -92,25 +102,25 @@ public class Application
 
         // %%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%
         
-        this .exporters .put( "pov", new POVRayExporter( null, this .mColors, this .mLights, null ) );
-        this .exporters .put( "opengl", new OpenGLExporter( null, this .mColors, this .mLights, null ) );
-        this .exporters .put( "dae", new DaeExporter( null, this .mColors, this .mLights, null ) );
-        this .exporters .put( "LiveGraphics", new LiveGraphicsExporter( null, this .mColors, this .mLights, null ) );
-        this .exporters .put( "json", new JsonExporter( null, this .mColors, this .mLights, null ) );
-        this .exporters .put( "step", new STEPExporter( null, this .mColors, this .mLights, null ) );
-        this .exporters .put( "vrml", new VRMLExporter( null, this .mColors, this .mLights, null ) );
-        this .exporters .put( "off", new OffExporter( null, this .mColors, this .mLights, null ) );
-        this .exporters .put( "2life", new SecondLifeExporter( null, this .mColors, this .mLights, null ) );
-        this .exporters .put( "vef", new VefExporter( null, this .mColors, this .mLights, null ) );
-        this .exporters .put( "partslist", new PartsListExporter( null, this .mColors, this .mLights, null ) );
-        this .exporters .put( "size", new RulerExporter( null, this .mColors, this .mLights, null ) );
-        this .exporters .put( "stl", new StlExporter( null, this .mColors, this .mLights, null ) );
-        this .exporters .put( "dxf", new DxfExporter( null, this .mColors, this .mLights, null ) );
-        this .exporters .put( "pdb", new PdbExporter( null, this .mColors, this .mLights, null ) );
-        this .exporters .put( "seg", new SegExporter( null, this .mColors, this .mLights, null ) );
-        this .exporters .put( "ply", new PlyExporter( this .mColors, this .mLights ) );
+        this .exporterFactories .put( "pov", () -> new POVRayExporter( null, this .mColors, this .mLights, null ) );
+        this .exporterFactories .put( "opengl", () -> new OpenGLExporter( null, this .mColors, this .mLights, null ) );
+        this .exporterFactories .put( "dae", () -> new DaeExporter( null, this .mColors, this .mLights, null ) );
+        this .exporterFactories .put( "LiveGraphics", () -> new LiveGraphicsExporter( null, this .mColors, this .mLights, null ) );
+        this .exporterFactories .put( "json", () -> new JsonExporter( null, this .mColors, this .mLights, null ) );
+        this .exporterFactories .put( "step", () -> new STEPExporter( null, this .mColors, this .mLights, null ) );
+        this .exporterFactories .put( "vrml", () -> new VRMLExporter( null, this .mColors, this .mLights, null ) );
+        this .exporterFactories .put( "off", () -> new OffExporter( null, this .mColors, this .mLights, null ) );
+        this .exporterFactories .put( "2life", () -> new SecondLifeExporter( null, this .mColors, this .mLights, null ) );
+        this .exporterFactories .put( "vef", () -> new VefExporter( null, this .mColors, this .mLights, null ) );
+        this .exporterFactories .put( "partslist", () -> new PartsListExporter( null, this .mColors, this .mLights, null ) );
+        this .exporterFactories .put( "size", () -> new RulerExporter( null, this .mColors, this .mLights, null ) );
+        this .exporterFactories .put( "stl", () -> new StlExporter( null, this .mColors, this .mLights, null ) );
+        this .exporterFactories .put( "dxf", () -> new DxfExporter( null, this .mColors, this .mLights, null ) );
+        this .exporterFactories .put( "pdb", () -> new PdbExporter( null, this .mColors, this .mLights, null ) );
+        this .exporterFactories .put( "seg", () -> new SegExporter( null, this .mColors, this .mLights, null ) );
+        this .exporterFactories .put( "ply", () -> new PlyExporter( this .mColors, this .mLights ) );
         
-        this .exporters .put( "history", new HistoryExporter( null, this .mColors, this .mLights, null ) );
+        this .exporterFactories .put( "history", () -> new HistoryExporter( null, this .mColors, this .mLights, null ) );
     }
     
     public DocumentModel loadDocument( InputStream bytes ) throws Exception
@@ -183,12 +193,15 @@ public class Application
 		return this .getDocumentKind( name ) .getField();
 	}
 
-	public FieldApplication getDocumentKind( String name )
+	public synchronized FieldApplication getDocumentKind( String name )
 	{
 		// This is lazy, so we don't initialize anything the user doesn't need.
+		// It is synchronized so that documents can be loaded on many threads at once;
+		//  a FieldApplication is safe to share once it is constructed.
 		
         FieldApplication kind = fieldApps .get( name );
         if ( kind == null ) {
+            long start = System .nanoTime();
         	switch ( name ) {
 
         	case "golden":
@@ -216,11 +229,54 @@ public class Application
 				return null;
 			}
             fieldApps .put( kind .getName(), kind );
+            this .recordLoad( "field " + name, start );
         }
         
 		return kind;
 	}
 
+	/**
+	 * Load field applications on a background thread, along with the connector shapes
+	 * of their default geometries, so they are ready before the first document needs them.
+	 * @return a future that completes when they are all loaded
+	 */
+	public CompletableFuture<Void> warmUp( String... fieldNames )
+	{
+		return CompletableFuture .runAsync( () -> {
+			for ( String name : fieldNames ) {
+				FieldApplication kind = this .getDocumentKind( name );
+				if ( kind == null )
+					continue;
+				long start = System .nanoTime();
+				kind .getDefaultSymmetryPerspective() .getDefaultGeometry() .getConnectorShape();
+				this .recordLoad( "connector shape for " + name, start );
+			}
+		} );
+	}
+
+	private void recordLoad( String what, long start )
+	{
+		long nanos = System .nanoTime() - start;
+		synchronized ( this .loadTimes ) {
+			this .loadTimes .put( what, nanos );
+		}
+		if ( logger .isLoggable( Level.FINE ) )
+			logger .fine( "loaded " + what + " in " + nanos / 1000000 + " ms" );
+	}
+
+	/**
+	 * @return one line for each field application, exporter, or shape loaded so far, with its time to load
+	 */
+	public String getLoadReport()
+	{
+		StringBuilder report = new StringBuilder();
+		synchronized ( this .loadTimes ) {
+			for ( Map.Entry<String, Long> entry : this .loadTimes .entrySet() )
+				report .append( String .format( "%s: %.1f ms%n", entry .getKey(), entry .getValue() / 1e6 ) );
+		}
+		return report .toString();
+	}
+
 	public Set<String> getFieldNames()
 	{
 		// Cannot get the keyset from fieldApps, since we are being lazy in constructing that.
@@ -265,7 +321,19 @@ public class Application
 
     public Exporter3d getExporter( String format )
     {
-        return this .exporters .get( format );
+        synchronized ( this .exporters ) {
+            Exporter3d exporter = this .exporters .get( format );
+            if ( exporter == null ) {
+                Supplier<Exporter3d> factory = this .exporterFactories .get( format );
+                if ( factory == null )
+                    return null;
+                long start = System .nanoTime();
+                exporter = factory .get();
+                this .exporters .put( format, exporter );
+                this .recordLoad( "exporter " + format, start );
+            }
+            return exporter;
+        }
     }
 
 	public Lights getLights()
@@ -20,6 +20,18 @@ public class ApplyTool extends ChangeManifestations
 {
     @Override
     public void perform() throws Failure
+    {
+        // The inputs must be hidden or deleted before outputs are manifested, so there are two
+        //  rendering batches, but the selection can report the whole tool application at once.
+        mSelection .startBatch();
+        try {
+            applyTool();
+        } finally {
+            mSelection .endBatch();
+        }
+    }
+
+    private void applyTool() throws Failure
     {
         // first, handle the inputs, offering each to the tool (if it needs input).
         //  If the tool does not need input, it operates just on its parameters and
@@ -58,7 +70,7 @@ public class ApplyTool extends ChangeManifestations
         }
         else
         {
-            for (Manifestation man : mManifestations) {
+            for (Manifestation man : tool .getSelectionCandidates( mManifestations )) {
                 tool .performSelect( man, this );
             }
         }
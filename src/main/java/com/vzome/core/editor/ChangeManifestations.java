@@ -52,7 +52,13 @@ public abstract class ChangeManifestations extends ChangeSelection
         if ( mManifestedNow != null )
             // TODO: DJH: Can this be replaced by a HashSet since the key is always equal to the value.
             mManifestedNow = new HashMap<>();
-        super .redo();
+        // one batch of rendering changes per edit
+        mManifestations .startBatch();
+        try {
+            super .redo();
+        } finally {
+            mManifestations .endBatch();
+        }
 //        System.out.print( " manifestations: " + mManifestations .size() );
     }
     
@@ -61,7 +67,12 @@ public abstract class ChangeManifestations extends ChangeSelection
     {
         if ( mManifestedNow != null )
             mManifestedNow = null;
-        super .undo();
+        mManifestations .startBatch();
+        try {
+            super .undo();
+        } finally {
+            mManifestations .endBatch();
+        }
     }
     
     protected Manifestation getManifestation( Construction c )
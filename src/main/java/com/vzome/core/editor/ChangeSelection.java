@@ -56,8 +56,38 @@ public abstract class ChangeSelection extends SideEffects
 		this.orderedSelection = orderedSelection;
 	}
 
+	@Override
+	public void redo()
+	{
+		// one batch of selection changes per edit
+		if ( mSelection == null ) {
+			super.redo();
+			return;
+		}
+		mSelection .startBatch();
+		try {
+			super.redo();
+		} finally {
+			mSelection .endBatch();
+		}
+	}
+
 	@Override
 	public void undo()
+	{
+		if ( mSelection == null ) {
+			undoSelection();
+			return;
+		}
+		mSelection .startBatch();
+		try {
+			undoSelection();
+		} finally {
+			mSelection .endBatch();
+		}
+	}
+
+	private void undoSelection()
 	{
 		if ( this .orderedSelection ) {
 
@@ -61,6 +61,7 @@ import com.vzome.core.exporters.Exporter3d;
 import com.vzome.core.exporters.OpenGLExporter;
 import com.vzome.core.exporters.POVRayExporter;
 import com.vzome.core.exporters.PartGeometryExporter;
+import com.vzome.core.generic.IdSpace;
 import com.vzome.core.math.DomUtils;
 import com.vzome.core.math.Projection;
 import com.vzome.core.math.RealVector;
@@ -88,6 +89,8 @@ public class DocumentModel implements Snapshot .Recorder, UndoableEdit .Context
 {
 	private final RealizedModel mRealizedModel;
 
+	private final IdSpace constructionIds = new IdSpace();
+
 	private final Point originPoint;
 
 	private final Selection mSelection;
@@ -418,7 +421,7 @@ public class DocumentModel implements Snapshot .Recorder, UndoableEdit .Context
             */
 
 			edit = new AdjustSelectionByOrbitLength( this .symmetrySystems .get( xml .getAttribute( "symmetry" ) ),
-                    null, null, this .mSelection, this .mRealizedModel, IGNORE, IGNORE );
+                    null, null, this .mSelection, this .mRealizedModel, this .renderedModel, IGNORE, IGNORE );
 			break;
 		case "SelectParallelStruts":
 			// See the note above about deserializing symmetry from XML.
@@ -433,6 +436,9 @@ public class DocumentModel implements Snapshot .Recorder, UndoableEdit .Context
 		case "SelectCollinear":
 			edit = new SelectCollinear( this .mSelection, this .mRealizedModel );
 			break;
+		case SelectConnected.NAME:
+			edit = new SelectConnected( this .mSelection, this .mRealizedModel );
+			break;
 		case "ValidateSelection":
 			edit = new ValidateSelection( this.mSelection );
 			break;
@@ -599,6 +605,9 @@ public class DocumentModel implements Snapshot .Recorder, UndoableEdit .Context
 		case "SelectCollinear":
 			edit = mEditorModel.selectCollinear();
 			break;
+		case "selectConnected":
+			edit = mEditorModel.selectConnected();
+			break;
 		case "SelectParallelStruts":
 			edit = mEditorModel.selectParallelStruts();
 			break;
@@ -800,25 +809,25 @@ public class DocumentModel implements Snapshot .Recorder, UndoableEdit .Context
 
     public void selectSimilarStruts( Direction orbit, AlgebraicNumber length )
     {
-        UndoableEdit edit = new AdjustSelectionByOrbitLength(mEditorModel .getSymmetrySystem(), orbit, length, mSelection, mRealizedModel, SELECT, IGNORE);
+        UndoableEdit edit = new AdjustSelectionByOrbitLength(mEditorModel .getSymmetrySystem(), orbit, length, mSelection, mRealizedModel, renderedModel, SELECT, IGNORE);
         this .performAndRecord( edit );
     }
     
     public void deselectSimilarStruts( Direction orbit, AlgebraicNumber length )
     {
-        UndoableEdit edit = new AdjustSelectionByOrbitLength(mEditorModel .getSymmetrySystem(), orbit, length, mSelection, mRealizedModel, DESELECT, IGNORE);
+        UndoableEdit edit = new AdjustSelectionByOrbitLength(mEditorModel .getSymmetrySystem(), orbit, length, mSelection, mRealizedModel, renderedModel, DESELECT, IGNORE);
         this .performAndRecord( edit );
     }
 
     public void selectSimilarPanels( Direction orbit )
     {
-        UndoableEdit edit = new AdjustSelectionByOrbitLength(mEditorModel .getSymmetrySystem(), orbit, null, mSelection, mRealizedModel, IGNORE, SELECT);
+        UndoableEdit edit = new AdjustSelectionByOrbitLength(mEditorModel .getSymmetrySystem(), orbit, null, mSelection, mRealizedModel, renderedModel, IGNORE, SELECT);
         this .performAndRecord( edit );
     }
 
     public void deselectSimilarPanels( Direction orbit )
     {
-        UndoableEdit edit = new AdjustSelectionByOrbitLength(mEditorModel .getSymmetrySystem(), orbit, null, mSelection, mRealizedModel, IGNORE, DESELECT);
+        UndoableEdit edit = new AdjustSelectionByOrbitLength(mEditorModel .getSymmetrySystem(), orbit, null, mSelection, mRealizedModel, renderedModel, IGNORE, DESELECT);
         this .performAndRecord( edit );
     }
 
@@ -1164,10 +1173,7 @@ public class DocumentModel implements Snapshot .Recorder, UndoableEdit .Context
 
             if ( offset .isOrigin() )
                 return "zero length!";
-            Axis zone = symmetry .getAxis( offset );
-            
-            AlgebraicNumber len = zone .getLength( offset );
-            len = zone .getOrbit() .getLengthInUnits( len );
+            AlgebraicNumber len = symmetry .getLengthInUnits( offset );
 
             buf.append( "\n\nlength in orbit units: " );
             len .getNumberExpression( buf, AlgebraicField.DEFAULT_FORMAT );
@@ -1420,6 +1426,15 @@ public class DocumentModel implements Snapshot .Recorder, UndoableEdit .Context
 		return this .mRealizedModel;
 	}
 
+	/**
+	 * The id space for this document's constructions; see Construction.getId().
+	 * Manifestation ids come from the RealizedModel's own space.
+	 */
+	public IdSpace getConstructionIds()
+	{
+		return this .constructionIds;
+	}
+
     public ToolsModel getToolsModel()
     {
         return this .tools;
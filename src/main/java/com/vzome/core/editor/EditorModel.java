@@ -151,6 +151,11 @@ public class EditorModel
         return new SelectAutomaticStruts( symmetrySystem, mSelection, mRealized );
     }
 
+    public UndoableEdit selectConnected()
+    {
+        return new SelectConnected( mSelection, mRealized );
+    }
+
     public UndoableEdit selectCollinear()
     {
         return new SelectCollinear(mSelection, mRealized );
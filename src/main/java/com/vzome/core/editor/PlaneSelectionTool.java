@@ -16,6 +16,8 @@ import com.vzome.core.construction.Construction;
 import com.vzome.core.model.Connector;
 import com.vzome.core.model.Manifestation;
 import com.vzome.core.model.Panel;
+import com.vzome.core.model.ProjectionIndex;
+import com.vzome.core.model.RealizedModel;
 import com.vzome.core.model.Strut;
 
 public class PlaneSelectionTool extends Tool
@@ -49,6 +51,12 @@ public class PlaneSelectionTool extends Tool
     private Bivector3d plane;
     
     private AlgebraicVector anchor;
+
+    // the same orientation as plane, as a vector, for the model's ProjectionIndex
+    private AlgebraicVector normal;
+
+    // valid during one ApplyTool, since selection does not change the model
+    private ProjectionIndex.Plane query;
     
 	private boolean halfSpace = false;
 	private boolean boundaryOpen = false;
@@ -106,13 +114,32 @@ public class PlaneSelectionTool extends Tool
         Vector3d v2 = new Vector3d( p3 .minus( p1 ) );
         plane = v1 .outer( v2 );
         anchor = p1;
+        normal = p2 .minus( p1 ) .cross( p3 .minus( p1 ) );
     }
 
     @Override
     public void prepare( ChangeManifestations applyTool ) {}
 
     @Override
-	public void complete( ChangeManifestations applyTool ) {}
+	public void complete( ChangeManifestations applyTool )
+    {
+        query = null;
+    }
+
+    /**
+     * Every manifestation that performSelect() can select has a ball, strut end, or panel vertex
+     * on the side of the plane (or on the plane) that it is looking for, so we can ask the
+     * model's projection index for just those.
+     */
+    @Override
+    Iterable<Manifestation> getSelectionCandidates( RealizedModel model )
+    {
+        if ( normal == null || normal .isOrigin() )
+            return model;
+        query = model .getProjectionIndex() .getPlane( normal, anchor );
+        boolean on = ! boundaryOpen;
+        return query .getIncidentManifestations( halfSpace && ! above, on, halfSpace && above );
+    }
 
     @Override
     public boolean needsInput()
@@ -187,6 +214,8 @@ public class PlaneSelectionTool extends Tool
 	
 	private int orient( AlgebraicVector point )
 	{
+	    if ( query != null )
+	        return query .orient( point );
 	    AlgebraicVector diff = point .minus( anchor );
 		Vector3d v = new Vector3d( diff );
 		AlgebraicNumber volume = plane .outer( v );
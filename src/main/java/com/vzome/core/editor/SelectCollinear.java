@@ -1,13 +1,13 @@
 package com.vzome.core.editor;
 
 import com.vzome.core.algebra.AlgebraicVector;
-import com.vzome.core.algebra.AlgebraicVectors;
 import com.vzome.core.commands.Command;
 import com.vzome.core.commands.Command.Failure;
 import com.vzome.core.commands.XmlSaveFormat;
 import static com.vzome.core.editor.ChangeSelection.logger;
 import com.vzome.core.math.DomUtils;
 import com.vzome.core.model.Connector;
+import com.vzome.core.model.LineIndex;
 import com.vzome.core.model.RealizedModel;
 import com.vzome.core.model.Strut;
 import java.util.Set;
@@ -70,17 +70,18 @@ public class SelectCollinear extends ChangeManifestations {
         }
         unselectAll();
 
+        // The line index finds the balls and struts on the line without visiting the rest of the model.
+        LineIndex lines = mManifestations.getLineIndex();
         Set<Connector> balls = new TreeSet<>(); // auto sorted
-        // Example of using FilteredIterator with Predicate parameter.
-        for (Connector ball : getVisibleConnectors(this::isCollinearWith)) {
-            balls.add(ball);
+        for (Connector ball : lines.getCollinearConnectors(vector1, vector2)) {
+            if (!ball.isHidden()) {
+                balls.add(ball);
+            }
         }
 
         Set<Strut> struts = new TreeSet<>(); // auto sorted
-        // Example of conventional "if" syntax within the loop.
-        // Compare to the equivalent FilteredIterator predicate syntax above.
-        for (Strut strut : getVisibleStruts()) {
-            if (isCollinearWith(strut)) {
+        for (Strut strut : lines.getCollinearStruts(vector1, vector2)) {
+            if (!strut.isHidden()) {
                 struts.add(strut);
             }
         }
@@ -111,19 +112,6 @@ public class SelectCollinear extends ChangeManifestations {
         super.perform();
     }
 
-    private boolean isCollinearWith(Connector ball) {
-        return isCollinear(ball.getLocation());
-    }
-
-    private boolean isCollinearWith(Strut strut) {
-        return isCollinear(strut.getLocation())
-                && isCollinear(strut.getEnd());
-    }
-
-    private boolean isCollinear(AlgebraicVector vec) {
-        return AlgebraicVectors.areCollinear(vec, vector1, vector2);
-    }
-
     @Override
     protected String getXmlElementName() {
         return "SelectCollinear";
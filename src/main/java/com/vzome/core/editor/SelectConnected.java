@@ -0,0 +1,46 @@
+package com.vzome.core.editor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.vzome.core.model.Manifestation;
+import com.vzome.core.model.RealizedModel;
+
+/**
+ * Extend the selection to every visible ball, strut and panel connected to it,
+ * following visible struts and panels.
+ * This uses the model's IncidenceGraph, so the cost is proportional to the size of the
+ * selected components, not the size of the model.
+ */
+public class SelectConnected extends ChangeSelection
+{
+    public static final String NAME = "SelectConnected";
+
+    private final RealizedModel model;
+
+    public SelectConnected( Selection selection, RealizedModel model )
+    {
+        super( selection, false );
+        this.model = model;
+    }
+
+    @Override
+    public void perform()
+    {
+        List<Manifestation> seeds = new ArrayList<>();
+        for (Manifestation man : mSelection) {
+            seeds .add( man );
+        }
+        for (Manifestation man : model .getIncidenceGraph() .getConnectedComponents( seeds, m -> m .getRenderedObject() != null )) {
+            if ( ! mSelection .manifestationSelected( man ) )
+                select( man );
+        }
+        redo();
+    }
+
+    @Override
+    protected String getXmlElementName()
+    {
+        return NAME;
+    }
+}
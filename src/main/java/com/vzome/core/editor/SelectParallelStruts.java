@@ -73,7 +73,9 @@ public class SelectParallelStruts extends ChangeManifestations
         int opposite = ( axis .getSense() + 1 ) % 2;
         Axis oppositeAxis = orbit. getAxis( opposite, axis .getOrientation() );
 
-        for (Strut strut : getStruts()) {
+        // Only struts parallel to the axis can be on it or its opposite,
+        // and the line index has those already grouped.
+        for (Strut strut : mManifestations.getLineIndex().getParallelStruts(axis.normal())) {
             Axis strutAxis = symmetry.getAxis(strut .getOffset());
             if (strutAxis != null && strutAxis.getOrbit().equals(orbit)) {
                 if ( strutAxis.equals(axis) || strutAxis.equals(oppositeAxis) ) {
@@ -5,9 +5,11 @@ package com.vzome.core.editor;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -28,6 +30,12 @@ public class Selection implements Iterable<Manifestation>
     
     private Group mSelectedGroup = null;  // when the selection is exactly one entire group
     
+    private int batchDepth = 0;
+    
+    // net selections (positive) and deselections (negative) in the batch, by identity, and the order first seen
+    private final Map<Manifestation, Integer> pending = new IdentityHashMap<>();
+    private final List<Manifestation> pendingOrder = new ArrayList<>();
+    
     private static final Logger logger = Logger .getLogger( "com.vzome.core.editor.selection" );
 
     public void copy( List<Manifestation> target )
@@ -69,9 +77,7 @@ public class Selection implements Iterable<Manifestation>
         mManifestations .add( m );
         if ( logger .isLoggable( Level .FINER ) )
             logger .finer( "  select: " + m .toString() );
-        for (ManifestationChanges mc : mListeners) {
-            mc .manifestationAdded( m );
-        }
+        notifyAdded( m );
     }
     
     public void unselect( Manifestation m )
@@ -80,10 +86,73 @@ public class Selection implements Iterable<Manifestation>
         {
             if ( logger .isLoggable( Level .FINER ) )
                 logger .finer( "deselect: " + m .toString() );
+            notifyRemoved( m );
+        }
+    }
+    
+    private void notifyAdded( Manifestation m )
+    {
+        if ( batchDepth > 0 )
+            pend( m, 1 );
+        else
+            for (ManifestationChanges mc : mListeners) {
+                mc .manifestationAdded( m );
+            }
+    }
+    
+    private void notifyRemoved( Manifestation m )
+    {
+        if ( batchDepth > 0 )
+            pend( m, -1 );
+        else
             for (ManifestationChanges mc : mListeners) {
                 mc .manifestationRemoved( m );
             }
+    }
+    
+    private void pend( Manifestation m, int change )
+    {
+        Integer previous = pending .put( m, change );
+        if ( previous == null )
+            pendingOrder .add( m );
+        else
+            pending .put( m, previous + change );
+    }
+    
+    /**
+     * Hold back listener notifications until the matching endBatch(), so that listeners
+     * hear about a whole edit at once, through the bulk methods of ManifestationChanges.
+     * The selection itself changes immediately.  Batches may nest; only the outermost endBatch() notifies.
+     */
+    public void startBatch()
+    {
+        ++batchDepth;
+    }
+    
+    public void endBatch()
+    {
+        if ( --batchDepth > 0 )
+            return;
+        List<Manifestation> added = new ArrayList<>();
+        List<Manifestation> removed = new ArrayList<>();
+        for ( Manifestation m : pendingOrder ) {
+            // a manifestation selected and then deselected, or vice versa, has not changed
+            int net = pending .get( m );
+            if ( net > 0 )
+                added .add( m );
+            else if ( net < 0 )
+                removed .add( m );
         }
+        pending .clear();
+        pendingOrder .clear();
+        if ( ! removed .isEmpty() )
+            for (ManifestationChanges mc : mListeners) {
+                mc .manifestationsRemoved( removed );
+            }
+        if ( ! added .isEmpty() )
+            for (ManifestationChanges mc : mListeners) {
+                mc .manifestationsAdded( added );
+            }
     }
     
     public void selectWithGrouping( Manifestation m )
@@ -120,9 +189,7 @@ public class Selection implements Iterable<Manifestation>
         mManifestations .add( m );
         if ( logger .isLoggable( Level .FINER ) )
             logger .finer( "  select: " + m .toString() );
-        for (ManifestationChanges mc : mListeners) {
-            mc .manifestationAdded( m );
-        }
+        notifyAdded( m );
     }
     
     private void remove( Manifestation m )
@@ -131,9 +198,7 @@ public class Selection implements Iterable<Manifestation>
         {
             if ( logger .isLoggable( Level .FINER ) )
                 logger .finer( "deselect: " + m .toString() );
-            for (ManifestationChanges mc : mListeners) {
-                mc .manifestationRemoved( m );
-            }
+            notifyRemoved( m );
         }
     }
     
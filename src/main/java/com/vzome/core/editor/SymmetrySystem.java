@@ -4,9 +4,11 @@
 package com.vzome.core.editor;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.w3c.dom.Document;
@@ -44,6 +46,24 @@ public class SymmetrySystem implements OrbitSource
     private final Map<Direction, Color> orbitColors = new HashMap<>();
     private Shapes shapes;
     private Map<AlgebraicVector,Axis> vectorToAxis = new HashMap<>();
+
+    // how many strut lengths to remember; see getLength()
+    private static final int MAX_LENGTHS = 4096;
+
+    // Recent offsets and their lengths along their axes, since Axis.getLength() costs an exact division,
+    //   and the same struts are measured on every render, parts count, and orbit source switch.
+    //   Cleared whenever the orbits change, since an offset's axis depends on them.
+    private final Map<AlgebraicVector, AlgebraicNumber> lengths = new LinkedHashMap<AlgebraicVector, AlgebraicNumber>( 64, 0.75f, true )
+    {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry( Map.Entry<AlgebraicVector, AlgebraicNumber> eldest )
+        {
+            return size() > MAX_LENGTHS;
+        }
+    };
+    private long lengthHits = 0, lengthMisses = 0;
     private boolean noKnownDirections = false;
 
     private final SymmetryPerspective symmetryPerspective;
@@ -182,6 +202,46 @@ public class SymmetrySystem implements OrbitSource
         return line;
 	}
 	
+	@Override
+	public AlgebraicNumber getLength( AlgebraicVector vector )
+	{
+	    AlgebraicNumber length = this .lengths .get( vector );
+	    if ( length != null ) {
+	        ++ this .lengthHits;
+	        return length;
+	    }
+	    ++ this .lengthMisses;
+	    Axis axis = this .getAxis( vector );
+	    if ( axis == null )
+	        return null;
+	    length = axis .getLength( vector );
+	    this .lengths .put( vector, length );
+	    return length;
+	}
+
+	/**
+	 * @return how many calls to getLength() found a remembered length
+	 */
+	public long getLengthCacheHits()
+	{
+	    return this .lengthHits;
+	}
+
+	/**
+	 * @return how many calls to getLength() had to compute the length
+	 */
+	public long getLengthCacheMisses()
+	{
+	    return this .lengthMisses;
+	}
+
+	private void orbitsChanged()
+	{
+	    if ( logger .isLoggable( Level.FINE ) && ( this .lengthHits + this .lengthMisses ) > 0 )
+	        logger .fine( "strut lengths cleared for " + this .getName() + ": " + this .lengthHits + " hits, " + this .lengthMisses + " misses" );
+	    this .lengths .clear();
+	}
+	
 	public Direction createAnonymousOrbit( AlgebraicVector vector )
 	{
         Symmetry symm = orbits .getSymmetry();
@@ -230,6 +290,7 @@ public class SymmetrySystem implements OrbitSource
         Direction dir = symm .createNewZoneOrbit( colorName, 0, Symmetry.NO_ROTATION, vector );
         dir .setAutomatic( true );
         orbits .add( dir );
+        this .orbitsChanged();
         this .orbitColors .put( dir, Color.WHITE );
         return dir;
     }
@@ -275,6 +336,7 @@ public class SymmetrySystem implements OrbitSource
 	public void disableKnownDirection()
 	{
 	    this .noKnownDirections = true;
+	    this .orbitsChanged();
 	}
 
     public Shapes getRenderingStyle()
@@ -348,7 +410,7 @@ public class SymmetrySystem implements OrbitSource
 			
 			// TODO remove this length computation... see the comment on AbstractShapes.getStrutShape()
 			
-			AlgebraicNumber len = axis .getLength( offset );
+			AlgebraicNumber len = this .getLength( offset );
 			
 			return this .shapes .getStrutShape( orbit, len );
 		}
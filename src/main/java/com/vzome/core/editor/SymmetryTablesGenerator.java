@@ -0,0 +1,41 @@
+package com.vzome.core.editor;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import com.vzome.core.editor.FieldApplication.SymmetryPerspective;
+import com.vzome.core.math.symmetry.AbstractSymmetry;
+import com.vzome.core.math.symmetry.Symmetry;
+import com.vzome.core.math.symmetry.SymmetryTables;
+
+/**
+ * Generate the SymmetryTables resources, for the build: one table for each distinct
+ * symmetry class of every FieldApplication.
+ */
+public class SymmetryTablesGenerator
+{
+    private static final Logger logger = Logger .getLogger( "com.vzome.core.editor" );
+
+    /**
+     * @param args the root folder for the resources
+     */
+    public static void main( String[] args ) throws IOException
+    {
+        File root = new File( args[ 0 ] );
+        Application app = new Application( false, null, null );
+        Set<Class<?>> done = new HashSet<>();
+        for ( String fieldName : app .getFieldNames() ) {
+            FieldApplication kind = app .getDocumentKind( fieldName );
+            for ( SymmetryPerspective perspective : kind .getSymmetryPerspectives() ) {
+                Symmetry symmetry = perspective .getSymmetry();
+                if ( ! ( symmetry instanceof AbstractSymmetry ) || ! done .add( symmetry .getClass() ) )
+                    continue;
+                File file = SymmetryTables .write( (AbstractSymmetry) symmetry, root );
+                logger .info( "wrote " + file );
+            }
+        }
+    }
+}
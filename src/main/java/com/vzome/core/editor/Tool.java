@@ -14,6 +14,7 @@ import org.w3c.dom.Element;
 import com.vzome.core.commands.Command;
 import com.vzome.core.construction.Construction;
 import com.vzome.core.model.Manifestation;
+import com.vzome.core.model.RealizedModel;
 
 public abstract class Tool extends ChangeManifestations implements com.vzome.api.Tool
 {
@@ -106,6 +107,15 @@ public abstract class Tool extends ChangeManifestations implements com.vzome.api
 	abstract void performSelect( Manifestation man, ChangeManifestations applyTool );
 
 	abstract void complete( ChangeManifestations applyTool );
+
+	/**
+	 * For a tool that does not need input, the manifestations that ApplyTool should offer to performSelect(),
+	 * in model order.  Tools that can rule out most of the model with an index should override this.
+	 */
+	Iterable<Manifestation> getSelectionCandidates( RealizedModel model )
+	{
+		return model;
+	}
     
 	abstract boolean needsInput();
 
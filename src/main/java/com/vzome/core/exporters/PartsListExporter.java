@@ -37,29 +37,43 @@ public class PartsListExporter extends Exporter3d
 	    
         int numBalls = 0;
         HashMap<Direction, Map<AlgebraicNumber, Integer> > orbits = new HashMap<>();
-        for (RenderedManifestation rm : mModel) {
-            Manifestation m = rm .getManifestation();
-            if ( m instanceof Connector ) {
-                ++ numBalls;
+        Map<Direction, Map<AlgebraicNumber, Integer>> strutCounts = mModel .getStrutCounts();
+        if ( strutCounts != null ) {
+            // the model has already counted, by orbit and length in the orbit's units
+            numBalls = mModel .getConnectorCount();
+            for ( Map.Entry<Direction, Map<AlgebraicNumber, Integer>> entry : strutCounts .entrySet() ) {
+                Direction orbit = entry .getKey();
+                Map<AlgebraicNumber, Integer> orbitHistogram = new HashMap<>();
+                for ( Map.Entry<AlgebraicNumber, Integer> count : entry .getValue() .entrySet() )
+                    orbitHistogram .merge( orbit .getLengthInUnits( count .getKey() ), count .getValue(), Integer::sum );
+                orbits .put( orbit, orbitHistogram );
             }
-            else if ( m instanceof Strut ) {
-                Polyhedron shape = rm .getShape();
-                Direction orbit = shape .getOrbit();
-                Map<AlgebraicNumber, Integer> orbitHistogram = orbits .get( orbit );
-                if ( orbitHistogram == null )
-                {
-                    orbitHistogram = new HashMap<>();
-                    orbits .put( orbit, orbitHistogram );
+        }
+        else {
+            for (RenderedManifestation rm : mModel) {
+                Manifestation m = rm .getManifestation();
+                if ( m instanceof Connector ) {
+                    ++ numBalls;
                 }
-                AlgebraicNumber len = shape .getLength();
-                Integer lengthCount = orbitHistogram .get( len );
-                if ( lengthCount == null )
-                {
-                    lengthCount = 1;
+                else if ( m instanceof Strut ) {
+                    Polyhedron shape = rm .getShape();
+                    Direction orbit = shape .getOrbit();
+                    Map<AlgebraicNumber, Integer> orbitHistogram = orbits .get( orbit );
+                    if ( orbitHistogram == null )
+                    {
+                        orbitHistogram = new HashMap<>();
+                        orbits .put( orbit, orbitHistogram );
+                    }
+                    AlgebraicNumber len = shape .getLength();
+                    Integer lengthCount = orbitHistogram .get( len );
+                    if ( lengthCount == null )
+                    {
+                        lengthCount = 1;
+                    }
+                    else
+                        lengthCount = lengthCount + 1;
+                    orbitHistogram .put( len, lengthCount );
                 }
-                else
-                    lengthCount = lengthCount + 1;
-                orbitHistogram .put( len, lengthCount );
             }
         }
         output .println( "balls" );
@@ -0,0 +1,29 @@
+package com.vzome.core.generic;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A source of sequential ids, owned by one document or model rather than shared globally,
+ * so that documents can be loaded, edited and exported on different threads without
+ * disturbing each other's numbering.
+ * Only next() is atomic: the objects that take ids from a space assign them unsynchronized,
+ * so all the ids of one document must be assigned on one thread.
+ */
+public final class IdSpace
+{
+    private final AtomicLong next = new AtomicLong();
+
+    public long next()
+    {
+        return this .next .getAndIncrement();
+    }
+
+    /**
+     * Start again from zero.  Objects that already hold ids from this space keep them,
+     * unless they are reset as well.
+     */
+    public void reset()
+    {
+        this .next .set( 0 );
+    }
+}
@@ -85,7 +85,7 @@ public class DefaultFieldApplication implements FieldApplication
 	}
 
 	@Override
-	public SymmetryPerspective getSymmetryPerspective( String symmName )
+	public synchronized SymmetryPerspective getSymmetryPerspective( String symmName )
 	{
 		switch ( symmName ) {
 	
@@ -129,6 +129,12 @@ public class DefaultFieldApplication implements FieldApplication
 	@Override
 	public void constructPolytope( String groupName, int index, int edgesToRender, AlgebraicNumber[] edgeScales, WythoffConstruction.Listener listener )
 	{
+        CoxeterGroup group = this .getCoxeterGroup( groupName );
+        WythoffConstruction .constructPolytope( group, index, edgesToRender, edgeScales, group, listener );
+	}
+
+	private synchronized CoxeterGroup getCoxeterGroup( String groupName )
+	{
         CoxeterGroup group = this .groups4d .get( groupName );
         if ( group == null )
         {
@@ -153,7 +159,7 @@ public class DefaultFieldApplication implements FieldApplication
 			}
     		this .groups4d .put( groupName, group );
         }
-        WythoffConstruction .constructPolytope( group, index, edgesToRender, edgeScales, group, listener );
+        return group;
 	}
 
 	@Override
@@ -6,6 +6,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.vzome.api.Tool;
 import com.vzome.api.Tool.Factory;
@@ -46,7 +47,8 @@ import com.vzome.core.viewing.ExportedVEFShapes;
 
 /**
  * Everything here is stateless, or at worst, a cache (like Shapes).
- * An instance of this can be shared by many DocumentModels.
+ * An instance of this can be shared by many DocumentModels, even on different threads:
+ * the field and symmetries are not modified after construction, and the caches are thread-safe.
  * This is why it does not have tool factories, though it does
  * dictate what tool factories will be present.
  * 
@@ -110,10 +112,8 @@ public class GoldenFieldApplication extends DefaultFieldApplication
         private final Command icosasymm = new CommandSymmetry( icosaSymm );
         private final Command tetrasymm = new CommandTetrahedralSymmetry( icosaSymm );
         private final Command axialsymm = new CommandAxialSymmetry( icosaSymm );
-        private final Command h4symmetry = new CommandQuaternionSymmetry( H4, H4 );
-        private final Command h4rotations = new CommandQuaternionSymmetry( H4_ROT, H4_ROT );
-        private final Command IxTsymmetry = new CommandQuaternionSymmetry( H4, T2 );
-        private final Command TxTsymmetry = new CommandQuaternionSymmetry( T2, T2 );
+        // these need the quaternionic symmetries, so they are created on first use
+        private final Map<String, Command> quaternionCommands = new ConcurrentHashMap<>();
         private final Command vanOss600cell = new CommandVanOss600Cell();
         private final Command octasymm = new CommandSymmetry( icosaSymm );
 
@@ -211,10 +211,10 @@ public class GoldenFieldApplication extends DefaultFieldApplication
 			case "icosasymm"    : return icosasymm;
 			case "tetrasymm"    : return tetrasymm;
 			case "axialsymm"    : return axialsymm;
-			case "h4symmetry"   : return h4symmetry;
-			case "h4rotations"  : return h4rotations;
-			case "IxTsymmetry"  : return IxTsymmetry;
-			case "TxTsymmetry"  : return TxTsymmetry;
+			case "h4symmetry"   : return getQuaternionCommand( action, "H_4", "H_4" );
+			case "h4rotations"  : return getQuaternionCommand( action, "H4_ROT", "H4_ROT" );
+			case "IxTsymmetry"  : return getQuaternionCommand( action, "H_4", "2T" );
+			case "TxTsymmetry"  : return getQuaternionCommand( action, "2T", "2T" );
 			case "vanOss600cell": return vanOss600cell;
 			case "octasymm"     : return octasymm;
 			default:
@@ -222,6 +222,12 @@ public class GoldenFieldApplication extends DefaultFieldApplication
 			}
 		}
 
+		private Command getQuaternionCommand( String action, String left, String right )
+		{
+			return this .quaternionCommands .computeIfAbsent( action,
+					a -> new CommandQuaternionSymmetry( getQuaternionSymmetry( left ), getQuaternionSymmetry( right ) ) );
+		}
+
 		@Override
 		public String getModelResourcePath()
 		{
@@ -234,9 +240,8 @@ public class GoldenFieldApplication extends DefaultFieldApplication
 		}
 	};
 		
-    private final QuaternionicSymmetry H4 = new QuaternionicSymmetry( "H_4", "com/vzome/core/math/symmetry/H4roots.vef", getField() );
-    private final QuaternionicSymmetry H4_ROT = new QuaternionicSymmetry( "H4_ROT", "com/vzome/core/math/symmetry/H4roots-rotationalSubgroup.vef", getField() );
-    private final QuaternionicSymmetry T2 = new QuaternionicSymmetry( "2T", "com/vzome/core/math/symmetry/binaryTetrahedralGroup.vef", getField() );
+    // parsed from their VEF resources on first use, since only a few commands need them
+    private QuaternionicSymmetry H4 = null, H4_ROT = null, T2 = null;
 
 	@Override
 	public Collection<SymmetryPerspective> getSymmetryPerspectives()
@@ -264,17 +269,23 @@ public class GoldenFieldApplication extends DefaultFieldApplication
 	}
 
 	@Override
-	public QuaternionicSymmetry getQuaternionSymmetry( String name )
+	public synchronized QuaternionicSymmetry getQuaternionSymmetry( String name )
 	{
 		switch ( name ) {
 
 		case "H_4":
+			if ( this .H4 == null )
+				this .H4 = new QuaternionicSymmetry( "H_4", "com/vzome/core/math/symmetry/H4roots.vef", getField() );
 			return this .H4;
 
 		case "H4_ROT":
+			if ( this .H4_ROT == null )
+				this .H4_ROT = new QuaternionicSymmetry( "H4_ROT", "com/vzome/core/math/symmetry/H4roots-rotationalSubgroup.vef", getField() );
 			return this .H4_ROT;
 
 		case "2T":
+			if ( this .T2 == null )
+				this .T2 = new QuaternionicSymmetry( "2T", "com/vzome/core/math/symmetry/binaryTetrahedralGroup.vef", getField() );
 			return this .T2;
 
 		default:
@@ -314,11 +325,15 @@ public class GoldenFieldApplication extends DefaultFieldApplication
 		switch ( groupName ) {
 
 		case "H4":
-			if ( this .h4Builder == null ) {
-	            QuaternionicSymmetry qsymm = new QuaternionicSymmetry( "H_4", "com/vzome/core/math/symmetry/H4roots.vef", this .getField() );
-	            this .h4Builder = new CommandUniformH4Polytope( this .getField(), qsymm, 0 );
+			CommandUniformH4Polytope builder;
+			synchronized ( this ) {
+				if ( this .h4Builder == null ) {
+		            QuaternionicSymmetry qsymm = new QuaternionicSymmetry( "H_4", "com/vzome/core/math/symmetry/H4roots.vef", this .getField() );
+		            this .h4Builder = new CommandUniformH4Polytope( this .getField(), qsymm, 0 );
+				}
+				builder = this .h4Builder;
 			}
-			this .h4Builder .generate( index, edgesToRender, edgeScales, listener );
+			builder .generate( index, edgesToRender, edgeScales, listener );
             break;
 
 		default:
@@ -71,13 +71,13 @@ public final class OctahedralSymmetryPerspective implements SymmetryPerspective
 		return this .geometries;
 	}
 
-	public void setDefaultGeometry( Shapes shapes )
+	public synchronized void setDefaultGeometry( Shapes shapes )
 	{
 		this .defaultShapes = shapes;
 	}
 
 	@Override
-	public Shapes getDefaultGeometry()
+	public synchronized Shapes getDefaultGeometry()
 	{
 		if ( this .defaultShapes == null ) {
 			this .defaultShapes = new OctahedralShapes( "octahedral", "octahedra", symmetry );
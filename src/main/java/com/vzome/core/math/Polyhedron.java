@@ -47,32 +47,36 @@ public class Polyhedron implements Cloneable
 	 * The faces are oriented in reverse, so that when oriented with
 	 * a mirroring transformation, the face normals will still point
 	 * outward.
+	 * This is synchronized, since struts are rendered in parallel (see RenderedModel.setOrbitSource()).
 	 * @return
 	 */
-	public Polyhedron getEvilTwin( AlgebraicMatrix reflection )
+	public synchronized Polyhedron getEvilTwin( AlgebraicMatrix reflection )
 	{
 		if ( this .evilTwin == null )
 		{
+			Polyhedron twin = null;
 			try {
-				this .evilTwin = (Polyhedron) this .clone();
+				twin = (Polyhedron) this .clone();
 			} catch (CloneNotSupportedException e) {
 				// TODO Auto-generated catch block
 				e.printStackTrace();
 			}
-			this .evilTwin .isEvil = true;
+			twin .isEvil = true;
 			
-			this .evilTwin .m_vertexList = new ArrayList<>();
+			twin .m_vertexList = new ArrayList<>();
 			// this loop should preserve the order, and thus indices for the faces below
 			for ( AlgebraicVector vertex : m_vertexList ) {
-				this .evilTwin .addVertex( reflection .timesColumn( vertex ) );
+				twin .addVertex( reflection .timesColumn( vertex ) );
 			}
 			
-			this .evilTwin .m_faces = new HashSet<Face>();
+			twin .m_faces = new HashSet<Face>();
 			for ( Face face : m_faces ) {
 				Face mirrorFace = (Face) face .clone();
 				Collections .reverse( mirrorFace );
-				this .evilTwin .addFace( mirrorFace );
+				twin .addFace( mirrorFace );
 			}
+			// only publish the twin once it is complete
+			this .evilTwin = twin;
 		}
 		return this .evilTwin;
 	}
@@ -4,19 +4,29 @@
 package com.vzome.core.math.symmetry;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.vzome.core.algebra.AlgebraicField;
 import com.vzome.core.algebra.AlgebraicMatrix;
 import com.vzome.core.algebra.AlgebraicNumber;
 import com.vzome.core.algebra.AlgebraicVector;
+import com.vzome.core.algebra.AlgebraicVectors;
 import com.vzome.core.math.RealVector;
 
 /**
+ * All orbits are created by the constructor, or by a FieldApplication as it configures
+ * the symmetry, before it is shared.  After that, nothing here is modified
+ * (createNewZoneOrbit() creates a Direction without registering it), except for the
+ * concurrent cache of axes found by getAxis(), so a symmetry
+ * can be used concurrently by many DocumentModels.
+ * Only axes of registered orbits are cached; each document keeps its own automatic orbits.
+ * 
  * @author Scott Vorthmann
  *
  */
@@ -28,6 +38,14 @@ public abstract class AbstractSymmetry implements Symmetry
     
     protected final OrbitSet orbitSet = new OrbitSet( this );
 
+    // The axes that getAxis( vector, orbits ) has found, by direction key (see AlgebraicVectors.getDirectionKey()).
+    // The result depends only on the key and the orbits, so after the first search for a key,
+    //   classifying a vector is one normalization and one lookup.  Filled lazily, and safe to share.
+    //   Only axes of orbits in orbitSet are cached, so the cache is bounded by the symmetry itself;
+    //   axes of a document's automatic orbits are left to that document's SymmetrySystem.
+    //   A key has more than one axis only when distinct registered orbits share a zone.
+    private final Map<AlgebraicVector, Axis[]> axesByKey = new ConcurrentHashMap<>();
+
     protected final Permutation[] mOrientations;
     
     protected final AlgebraicMatrix[] mMatrices;
@@ -64,7 +82,22 @@ public abstract class AbstractSymmetry implements Symmetry
 //            initialPerms[ i ] = true;
 //        }
         
-        // now, discover all possible compositions of these
+        // now, complete the group, from the precomputed table if there is one
+        if ( ! SymmetryTables .load( this, mOrientations ) )
+            this .closeOrientations( order );
+        
+        createFrameOrbit( frameColor );
+        createOtherOrbits();
+
+//        for ( int i = 0; i < order; i++ ) {
+//            if ( initialPerms[ i ] )
+//                System .out .println( i + " = " + mMatrices[ i ] .toString() );
+//        }        
+    }
+    
+    private void closeOrientations( int order )
+    {
+        // discover all possible compositions of the initial permutations
         boolean done = false;
         while ( ! done ) {
             done = true;
@@ -93,14 +126,6 @@ public abstract class AbstractSymmetry implements Symmetry
                 if ( done ) break;
             }
         }
-        
-        createFrameOrbit( frameColor );
-        createOtherOrbits();
-
-//        for ( int i = 0; i < order; i++ ) {
-//            if ( initialPerms[ i ] )
-//                System .out .println( i + " = " + mMatrices[ i ] .toString() );
-//        }        
     }
     
     protected abstract void createFrameOrbit( String frameColor );
@@ -298,11 +323,53 @@ public abstract class AbstractSymmetry implements Symmetry
         if ( vector .isOrigin() ) {
             return null;
         }
+        AlgebraicVector key = AlgebraicVectors .getDirectionKey( vector );
+        Axis[] known = this .axesByKey .get( key );
+        if ( known != null ) {
+            Axis match = null;
+            int matches = 0;
+            for ( Axis axis : known ) {
+                if ( orbits .contains( axis .getOrbit() ) ) {
+                    match = axis;
+                    ++matches;
+                }
+            }
+            if ( matches == 1 )
+                return match;
+            // with no match, the orbits may have a zone we have not seen yet;
+            //   with several, the order of the orbits decides
+        }
+        Axis result = this .findAxis( vector, key, orbits );
+        if ( result != null && this .orbitSet .contains( result .getOrbit() ) )
+            this .axesByKey .merge( key, new Axis[]{ result }, AbstractSymmetry::union );
+        return result;
+    }
+
+    // the number of axes cached for this direction key, for tests
+    int getCachedAxisCount( AlgebraicVector key )
+    {
+        Axis[] known = this .axesByKey .get( key );
+        return ( known == null )? 0 : known .length;
+    }
+
+    private static Axis[] union( Axis[] axes, Axis[] more )
+    {
+        Axis axis = more[ 0 ];
+        for ( Axis known : axes )
+            if ( known == axis )
+                return axes;
+        Axis[] result = Arrays .copyOf( axes, axes .length + 1 );
+        result[ axes .length ] = axis;
+        return result;
+    }
+
+    private Axis findAxis( AlgebraicVector vector, AlgebraicVector key, OrbitSet orbits )
+    {
         Direction canonicalOrbit = this .getSpecialOrbit( SpecialOrbit.BLACK );
         if ( canonicalOrbit == null )
                         // the old, brute-force approach
         for (Direction dir : orbits) {
-            Axis candidate = dir .getAxis( vector );
+            Axis candidate = dir .getAxisByKey( key );
             if ( candidate != null )
             {
                 return candidate;
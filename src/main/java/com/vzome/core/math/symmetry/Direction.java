@@ -8,6 +8,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -15,6 +16,7 @@ import com.vzome.core.algebra.AlgebraicField;
 import com.vzome.core.algebra.AlgebraicMatrix;
 import com.vzome.core.algebra.AlgebraicNumber;
 import com.vzome.core.algebra.AlgebraicVector;
+import com.vzome.core.algebra.AlgebraicVectors;
 import com.vzome.core.math.RealVector;
 
 /**
@@ -26,6 +28,9 @@ import com.vzome.core.math.RealVector;
  * The orbit is represented by a single "dot" on the fundamental region triangle, and typically
  * struts in the orbit are rendered with a shape and color unique from all other orbits.
  * 
+ * The zones are all created while the Symmetry is being constructed (or configured, by a FieldApplication),
+ * and never change after that, so a Direction can be read by any number of threads once it is safely published.
+ * 
  * @author Scott Vorthmann
  */
 public class Direction implements Comparable<Direction>, Iterable<Axis>
@@ -79,7 +84,10 @@ public class Direction implements Comparable<Direction>, Iterable<Axis>
     private final Axis[][][] zoneNames;
     
     private final Map<AlgebraicVector, Axis> zoneVectors = new HashMap<>();
-    
+
+    // zoneVectors by AlgebraicVectors.getDirectionKey(), built on first use; never modified once published
+    private volatile Map<AlgebraicVector, Axis> zoneKeys = null;
+
     private final Symmetry mSymmetryGroup;
     
     private final AlgebraicVector mPrototype;
@@ -120,7 +128,7 @@ public class Direction implements Comparable<Direction>, Iterable<Axis>
         return mStandard;
     }
     
-    private static int globalIndex = 0;
+    private static final AtomicInteger globalIndex = new AtomicInteger();
     
     private final int index;
 
@@ -128,7 +136,7 @@ public class Direction implements Comparable<Direction>, Iterable<Axis>
     
     public Direction( String name, Symmetry group, int prototype, int rotatedPrototype, AlgebraicVector vector, boolean isStd )
     {
-        this.index = globalIndex++; // we want to just retain the order used to create these
+        this.index = globalIndex .getAndIncrement(); // we want to just retain the order used to create these
         mStandard = isStd;
         mName = name;
         mSymmetryGroup = group;
@@ -205,30 +213,33 @@ public class Direction implements Comparable<Direction>, Iterable<Axis>
         return mName;
     }
     
+    /**
+     * Every zone is recorded with both of its normals, v and -v (as a sense pair, or as an
+     * inbound/outbound pair when there is a principal reflection), so the axis for a vector
+     * is the one whose normal is a positive multiple of it, found with one exact hash lookup.
+     * @return null for the origin, or if no zone of this orbit is parallel to the vector
+     */
     public Axis getAxis( AlgebraicVector vector )
     {
-        for (Axis axis : zoneVectors .values()) {
-            AlgebraicVector normal = axis .normal();
-            if ( normal .cross( vector ) .isOrigin() ) {
-                // parallel
-                AlgebraicNumber dotProd = normal .dot( vector );
-                if ( dotProd .evaluate() > 0 )
-                    return axis;
-                else {
-                	AlgebraicMatrix principalReflection = this .mSymmetryGroup .getPrincipalReflection();
-                	if ( principalReflection == null ) {
-                		// the traditional way... anti-parallel means just flip the sense
-                        int opp = ( axis .getSense() + 1 ) % 2;
-                        return getAxis( opp, axis .getOrientation() );
-                	}
-                	else {
-                		// anti-parallel mean flip inbound to outbound or vice-versa
-                		return getAxis( axis .getSense(), axis .getOrientation(), ! axis .isOutbound() );
-                	}
-                }
-            }
+        if ( vector .isOrigin() )
+            return null;
+        return this .getAxisByKey( AlgebraicVectors .getDirectionKey( vector ) );
+    }
+
+    /**
+     * @param key a direction key, from AlgebraicVectors.getDirectionKey()
+     */
+    Axis getAxisByKey( AlgebraicVector key )
+    {
+        Map<AlgebraicVector, Axis> keys = this .zoneKeys;
+        if ( keys == null ) {
+            // a benign race: concurrent callers build equal maps
+            keys = new HashMap<>();
+            for ( Map.Entry<AlgebraicVector, Axis> entry : zoneVectors .entrySet() )
+                keys .put( AlgebraicVectors .getDirectionKey( entry .getKey() ), entry .getValue() );
+            this .zoneKeys = keys;
         }
-        return null;
+        return keys .get( key );
     }
     
     public Axis getAxis( RealVector vector )
@@ -400,6 +411,7 @@ public class Direction implements Comparable<Direction>, Iterable<Axis>
     		// vector never seen before
     		zone = new Axis( this, orientation, sense, rotation, rotPerm, normal, outbound );
         	this .zoneVectors .put( normal, zone );
+        	this .zoneKeys = null;
     		if ( logger .isLoggable( Level.FINER ) )
     			logger .finer( "creating zone " + zone .toString() + " " + normal .toString() );
     	}
@@ -0,0 +1,196 @@
+package com.vzome.core.math.symmetry;
+
+import java.io.BufferedInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Precomputed orientation tables for the AbstractSymmetry subclasses, so a symmetry need not
+ * discover the closure of its generators each time it is constructed.
+ *
+ * The table of a symmetry is the map of every orientation's Permutation, which depends only on
+ * the generators from createInitialPermutations(), not on the field.  The build generates a table
+ * for each symmetry of each FieldApplication, as a resource named for the class
+ * (see com.vzome.core.editor.SymmetryTablesGenerator).
+ *
+ * A table is used only if it passes validate(), which proves it is the closure of the generators
+ * in time proportional to the size of the table, so a stale or damaged resource costs nothing
+ * but the time to read it.
+ */
+public class SymmetryTables
+{
+    private static final Logger logger = Logger .getLogger( "com.vzome.core.math.symmetry" );
+
+    private static final int MAGIC = 0x765A5354; // "vZST"
+
+    private static final int VERSION = 1;
+
+    private static final int[][] MISSING = new int[ 0 ][];
+
+    // tables read so far, by symmetry class; they are never modified, and validated for each symmetry
+    private static final Map<Class<?>, int[][]> TABLES = new ConcurrentHashMap<>();
+
+    static final String RESOURCE_FOLDER = "com/vzome/core/math/symmetry/tables/";
+
+    static String getResourceName( Class<?> symmetryClass )
+    {
+        return RESOURCE_FOLDER + symmetryClass .getName() + ".perms";
+    }
+
+    /**
+     * Complete the orientations from the precomputed table for this symmetry, if there is a valid one.
+     * @param orientations the generators, as created by createInitialPermutations(), and nulls
+     * @return true if every orientation is now filled in
+     */
+    static boolean load( AbstractSymmetry symmetry, Permutation[] orientations )
+    {
+        int[][] table = TABLES .computeIfAbsent( symmetry .getClass(), SymmetryTables::readResource );
+        if ( table == MISSING )
+            return false;
+        if ( ! validate( table, orientations ) ) {
+            if ( logger .isLoggable( Level.FINE ) )
+                logger .fine( "ignoring the table for " + symmetry .getClass() .getName() + ", which does not match its generators" );
+            return false;
+        }
+        for ( int i = 0; i < orientations .length; i++ )
+            if ( orientations[ i ] == null )
+                orientations[ i ] = new Permutation( symmetry, table[ i ] );
+        return true;
+    }
+
+    private static int[][] readResource( Class<?> symmetryClass )
+    {
+        String name = getResourceName( symmetryClass );
+        InputStream stream = SymmetryTables.class .getClassLoader() .getResourceAsStream( name );
+        if ( stream == null )
+            return MISSING;
+        try ( DataInputStream in = new DataInputStream( new BufferedInputStream( stream ) ) ) {
+            int[][] table = read( in );
+            return ( table == null )? MISSING : table;
+        } catch ( IOException e ) {
+            logger .warning( "unable to read " + name + ": " + e .getMessage() );
+            return MISSING;
+        }
+    }
+
+    /**
+     * Write the table resource for a symmetry, under the given root folder.
+     * @return the file written
+     */
+    public static File write( AbstractSymmetry symmetry, File root ) throws IOException
+    {
+        int order = symmetry .getChiralOrder();
+        Permutation[] orientations = new Permutation[ order ];
+        for ( int i = 0; i < order; i++ )
+            orientations[ i ] = symmetry .getPermutation( i );
+        File file = new File( root, getResourceName( symmetry .getClass() ) );
+        file .getParentFile() .mkdirs();
+        try ( DataOutputStream out = new DataOutputStream( new FileOutputStream( file ) ) ) {
+            write( orientations, out );
+        }
+        return file;
+    }
+
+    static void write( Permutation[] orientations, DataOutput out ) throws IOException
+    {
+        int order = orientations .length;
+        out .writeInt( MAGIC );
+        out .writeInt( VERSION );
+        out .writeInt( order );
+        for ( Permutation p : orientations )
+            for ( int k = 0; k < order; k++ )
+                out .writeShort( p .mapIndex( k ) );
+    }
+
+    /**
+     * @return the table, or null if this is not a table in the current format
+     */
+    static int[][] read( DataInput in ) throws IOException
+    {
+        if ( in .readInt() != MAGIC || in .readInt() != VERSION )
+            return null;
+        int order = in .readInt();
+        if ( order <= 0 || order > Short.MAX_VALUE )
+            return null;
+        int[][] table = new int[ order ][ order ];
+        for ( int i = 0; i < order; i++ )
+            for ( int k = 0; k < order; k++ )
+                table[ i ][ k ] = in .readShort();
+        return table;
+    }
+
+    /**
+     * Check that the table is exactly the closure of the generators.
+     * Row i must be a permutation taking 0 to i, and the generators must appear unchanged.
+     * Then if g * row( i ) = row( g(i) ) for every generator g and row i, and every row is
+     * reached from the identity (row 0) by generators, every row is the product of the
+     * generators that reach it, by induction, and the rows are closed under composition.
+     * This costs time proportional to the number of generators times the size of the table.
+     */
+    static boolean validate( int[][] table, Permutation[] generators )
+    {
+        int order = generators .length;
+        if ( table == null || table .length != order )
+            return false;
+        boolean[] seen = new boolean[ order ];
+        for ( int i = 0; i < order; i++ ) {
+            int[] row = table[ i ];
+            if ( row .length != order || row[ 0 ] != i )
+                return false;
+            Arrays .fill( seen, false );
+            for ( int k = 0; k < order; k++ ) {
+                int image = row[ k ];
+                if ( image < 0 || image >= order || seen[ image ] )
+                    return false;
+                seen[ image ] = true;
+            }
+        }
+        for ( int k = 0; k < order; k++ )
+            if ( table[ 0 ][ k ] != k )
+                return false;
+
+        int[] reached = new int[ order ];
+        Arrays .fill( seen, false );
+        seen[ 0 ] = true;
+        reached[ 0 ] = 0;
+        int numReached = 1;
+        for ( int next = 0; next < numReached; next++ ) {
+            int[] row = table[ reached[ next ] ];
+            for ( Permutation g : generators ) {
+                if ( g == null )
+                    continue;
+                int product = g .mapIndex( row[ 0 ] );
+                int[] productRow = table[ product ];
+                for ( int k = 0; k < order; k++ )
+                    if ( productRow[ k ] != g .mapIndex( row[ k ] ) )
+                        return false;
+                if ( ! seen[ product ] ) {
+                    seen[ product ] = true;
+                    reached[ numReached++ ] = product;
+                }
+            }
+        }
+        if ( numReached != order )
+            return false;
+        for ( int i = 0; i < order; i++ ) {
+            Permutation g = generators[ i ];
+            if ( g == null )
+                continue;
+            for ( int k = 0; k < order; k++ )
+                if ( table[ i ][ k ] != g .mapIndex( k ) )
+                    return false;
+        }
+        return true;
+    }
+}
@@ -35,6 +35,12 @@ public class Connector extends Manifestation implements Comparable<Connector>
 	    return m_center .hashCode();
 	}
 
+	@Override
+	long coordinateHash()
+	{
+	    return coordinateHash( m_center );
+	}
+
 	@Override
 	public  boolean equals( Object other )
 	{
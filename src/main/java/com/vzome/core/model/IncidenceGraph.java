@@ -0,0 +1,372 @@
+package com.vzome.core.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Predicate;
+
+import com.vzome.core.algebra.AlgebraicVector;
+
+/**
+ * The ball-strut-panel incidence structure of a RealizedModel, kept up to date as manifestations
+ * are added and removed.
+ * Locations and manifestations get small int ids, recycled when they are removed,
+ * and adjacency is stored in int arrays indexed by those ids, so connectivity queries
+ * never need object sets: the manifestations at a location cost O(degree), and a connected
+ * component costs O(size of the component).
+ *
+ * Each location's incident manifestations are kept in the order they were added to the model.
+ * Hidden manifestations are included; queries that care take a filter.
+ *
+ * Like RealizedModel, this is not thread-safe.
+ */
+public class IncidenceGraph
+{
+    private static final int[] NONE = new int[0];
+
+    private final HashMap<AlgebraicVector, Integer> locationIds = new HashMap<>( 1000 );
+
+    // per location id
+    private AlgebraicVector[] locations = new AlgebraicVector[ 64 ];
+    private int[][] incident = new int[ 64 ][];
+    private int[] incidentCount = new int[ 64 ];
+    private final IdPool locationPool = new IdPool();
+    // counts locations created and released, so derived indices know when they are stale
+    private int locationChanges = 0;
+
+    // per manifestation id
+    private Manifestation[] manifestations = new Manifestation[ 64 ];
+    private int[][] manifestationLocations = new int[ 64 ][];
+    private final IdPool manifestationPool = new IdPool();
+
+    /**
+     * Add a manifestation that is not already present.
+     */
+    void add( Manifestation m )
+    {
+        int id = manifestationPool .allocate();
+        if ( id == manifestations .length ) {
+            int length = 2 * id;
+            manifestations = Arrays .copyOf( manifestations, length );
+            manifestationLocations = Arrays .copyOf( manifestationLocations, length );
+        }
+        m .setIncidenceId( id );
+        manifestations[ id ] = m;
+        List<AlgebraicVector> where = locationsOf( m );
+        int[] locs = new int[ where .size() ];
+        for ( int i = 0; i < locs .length; i++ ) {
+            int loc = locationId( where .get( i ), true );
+            locs[ i ] = loc;
+            int count = incidentCount[ loc ];
+            if ( count == incident[ loc ] .length )
+                incident[ loc ] = Arrays .copyOf( incident[ loc ], Math .max( 4, 2 * count ) );
+            incident[ loc ][ count ] = id;
+            incidentCount[ loc ] = count + 1;
+        }
+        manifestationLocations[ id ] = locs;
+    }
+
+    /**
+     * Replace a manifestation by an equal one, keeping its position everywhere.
+     */
+    void replace( Manifestation previous, Manifestation m )
+    {
+        int id = previous .getIncidenceId();
+        m .setIncidenceId( id );
+        manifestations[ id ] = m;
+    }
+
+    void remove( Manifestation m )
+    {
+        int id = m .getIncidenceId();
+        for ( int loc : manifestationLocations[ id ] ) {
+            int[] ids = incident[ loc ];
+            int count = incidentCount[ loc ];
+            int i = 0;
+            while ( ids[ i ] != id )
+                ++i;
+            // shift down rather than swapping in the last, to keep the order
+            System .arraycopy( ids, i + 1, ids, i, count - i - 1 );
+            incidentCount[ loc ] = --count;
+            if ( count == 0 ) {
+                locationIds .remove( locations[ loc ] );
+                locations[ loc ] = null;
+                incident[ loc ] = null;
+                locationPool .release( loc );
+                ++locationChanges;
+            }
+        }
+        manifestations[ id ] = null;
+        manifestationLocations[ id ] = null;
+        manifestationPool .release( id );
+    }
+
+    private int locationId( AlgebraicVector location, boolean create )
+    {
+        Integer id = locationIds .get( location );
+        if ( id != null )
+            return id;
+        if ( ! create )
+            return -1;
+        int loc = locationPool .allocate();
+        if ( loc == locations .length ) {
+            int length = 2 * loc;
+            locations = Arrays .copyOf( locations, length );
+            incident = Arrays .copyOf( incident, length );
+            incidentCount = Arrays .copyOf( incidentCount, length );
+        }
+        locations[ loc ] = location;
+        incident[ loc ] = NONE;
+        incidentCount[ loc ] = 0;
+        locationIds .put( location, loc );
+        ++locationChanges;
+        return loc;
+    }
+
+    int locationChanges()
+    {
+        return locationChanges;
+    }
+
+    // every location id in use is less than this
+    int locationLimit()
+    {
+        return locationPool .limit();
+    }
+
+    // null for an id not in use
+    AlgebraicVector locationAt( int loc )
+    {
+        return locations[ loc ];
+    }
+
+    // -1 if no manifestation touches the location
+    int findLocation( AlgebraicVector location )
+    {
+        return locationId( location, false );
+    }
+
+    // add the manifestations incident on a location to the result, unless already reported
+    void collectIncident( int loc, BitSet reported, List<Manifestation> result )
+    {
+        for ( int i = 0; i < incidentCount[ loc ]; i++ ) {
+            int id = incident[ loc ][ i ];
+            if ( ! reported .get( id ) ) {
+                reported .set( id );
+                result .add( manifestations[ id ] );
+            }
+        }
+    }
+
+    // every manifestation id in use is less than this
+    int manifestationLimit()
+    {
+        return manifestationPool .limit();
+    }
+
+    // the distinct locations where m touches other manifestations
+    private static List<AlgebraicVector> locationsOf( Manifestation m )
+    {
+        if ( m instanceof Connector )
+            return Collections .singletonList( m .getLocation() );
+        if ( m instanceof Strut )
+            return Arrays .asList( ( (Strut) m ) .getLocation(), ( (Strut) m ) .getEnd() );
+        List<AlgebraicVector> vertices = new ArrayList<>();
+        if ( m instanceof Panel ) {
+            for ( AlgebraicVector vertex : (Panel) m ) {
+                if ( ! vertices .contains( vertex ) )
+                    vertices .add( vertex );
+            }
+        }
+        return vertices;
+    }
+
+    /**
+     * All manifestations incident on a location: the connector there,
+     * any struts with an end there, and any panels with a vertex there,
+     * in the order they were added.
+     * The result is a read-only view, valid until the model next changes.
+     */
+    public List<Manifestation> getIncidentManifestations( AlgebraicVector location )
+    {
+        final int loc = locationId( location, false );
+        if ( loc < 0 )
+            return Collections .emptyList();
+        final int[] ids = incident[ loc ];
+        final int count = incidentCount[ loc ];
+        return new AbstractList<Manifestation>()
+        {
+            @Override
+            public Manifestation get( int index )
+            {
+                if ( index >= count )
+                    throw new IndexOutOfBoundsException( "Index: " + index + ", Size: " + count );
+                return manifestations[ ids[ index ] ];
+            }
+
+            @Override
+            public int size()
+            {
+                return count;
+            }
+        };
+    }
+
+    /**
+     * @return the connector at the location, or null if there is none
+     */
+    public Connector getConnector( AlgebraicVector location )
+    {
+        int loc = locationId( location, false );
+        if ( loc < 0 )
+            return null;
+        for ( int i = 0; i < incidentCount[ loc ]; i++ ) {
+            Manifestation m = manifestations[ incident[ loc ][ i ] ];
+            if ( m instanceof Connector )
+                return (Connector) m;
+        }
+        return null;
+    }
+
+    /**
+     * All struts with an end at the location, in the order they were added.
+     */
+    public List<Strut> getStruts( AlgebraicVector location )
+    {
+        int loc = locationId( location, false );
+        if ( loc < 0 )
+            return Collections .emptyList();
+        List<Strut> result = new ArrayList<>( incidentCount[ loc ] );
+        for ( int i = 0; i < incidentCount[ loc ]; i++ ) {
+            Manifestation m = manifestations[ incident[ loc ][ i ] ];
+            if ( m instanceof Strut )
+                result .add( (Strut) m );
+        }
+        return result;
+    }
+
+    /**
+     * @return the number of struts with an end at the location
+     */
+    public int getDegree( AlgebraicVector location )
+    {
+        int loc = locationId( location, false );
+        if ( loc < 0 )
+            return 0;
+        int degree = 0;
+        for ( int i = 0; i < incidentCount[ loc ]; i++ ) {
+            if ( manifestations[ incident[ loc ][ i ] ] instanceof Strut )
+                ++degree;
+        }
+        return degree;
+    }
+
+    /**
+     * Find every manifestation connected to the seeds, through struts and panels that pass the filter.
+     * Connectors and locations are the nodes; two locations are connected by a strut between them,
+     * or by a panel with vertices at both.
+     * @param seeds any manifestations in the model
+     * @param filter which manifestations to traverse and report; others are ignored completely
+     * @return the matching manifestations in the components of the seeds, in breadth-first order
+     */
+    public List<Manifestation> getConnectedComponents( Collection<? extends Manifestation> seeds, Predicate<Manifestation> filter )
+    {
+        List<Manifestation> result = new ArrayList<>();
+        BitSet reported = new BitSet( manifestationPool .limit() );
+        BitSet visited = new BitSet( locationPool .limit() );
+        for ( Manifestation seed : seeds ) {
+            traverse( seed, filter, reported, visited, result );
+        }
+        return result;
+    }
+
+    /**
+     * @return the number of connected components among the manifestations that pass the filter
+     */
+    public int countComponents( Predicate<Manifestation> filter )
+    {
+        int count = 0;
+        BitSet reported = new BitSet( manifestationPool .limit() );
+        BitSet visited = new BitSet( locationPool .limit() );
+        for ( int id = 0; id < manifestationPool .limit(); id++ ) {
+            Manifestation m = manifestations[ id ];
+            if ( m != null && ! reported .get( id ) && traverse( m, filter, reported, visited, null ) > 0 )
+                ++count;
+        }
+        return count;
+    }
+
+    // breadth-first search from the seed's locations; returns the number of manifestations newly reported
+    private int traverse( Manifestation seed, Predicate<Manifestation> filter, BitSet reported, BitSet visited, List<Manifestation> result )
+    {
+        if ( ! filter .test( seed ) )
+            return 0;
+        int found = 0;
+        int[] queue = new int[ 16 ];
+        int head = 0, tail = 0;
+        for ( int loc : manifestationLocations[ seed .getIncidenceId() ] ) {
+            if ( visited .get( loc ) )
+                continue;
+            visited .set( loc );
+            if ( tail == queue .length )
+                queue = Arrays .copyOf( queue, 2 * tail );
+            queue[ tail++ ] = loc;
+        }
+        while ( head < tail ) {
+            int loc = queue[ head++ ];
+            for ( int i = 0; i < incidentCount[ loc ]; i++ ) {
+                int id = incident[ loc ][ i ];
+                if ( reported .get( id ) || ! filter .test( manifestations[ id ] ) )
+                    continue;
+                reported .set( id );
+                ++found;
+                if ( result != null )
+                    result .add( manifestations[ id ] );
+                for ( int next : manifestationLocations[ id ] ) {
+                    if ( visited .get( next ) )
+                        continue;
+                    visited .set( next );
+                    if ( tail == queue .length )
+                        queue = Arrays .copyOf( queue, 2 * tail );
+                    queue[ tail++ ] = next;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Dense int ids, reusing released ids before extending the range.
+     */
+    private static final class IdPool
+    {
+        private int limit = 0;
+        private int[] free = new int[ 16 ];
+        private int freeCount = 0;
+
+        int allocate()
+        {
+            if ( freeCount > 0 )
+                return free[ --freeCount ];
+            return limit++;
+        }
+
+        void release( int id )
+        {
+            if ( freeCount == free .length )
+                free = Arrays .copyOf( free, 2 * freeCount );
+            free[ freeCount++ ] = id;
+        }
+
+        // every id allocated so far is less than this
+        int limit()
+        {
+            return limit;
+        }
+    }
+}
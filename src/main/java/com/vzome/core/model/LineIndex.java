@@ -0,0 +1,271 @@
+package com.vzome.core.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import com.vzome.core.algebra.AlgebraicNumber;
+import com.vzome.core.algebra.AlgebraicVector;
+
+/**
+ * The struts and connectors of a RealizedModel, grouped by the lines they lie on,
+ * kept up to date as manifestations are added and removed.
+ *
+ * A line is keyed exactly, independent of any symmetry system: its direction is scaled
+ * so that the first nonzero component is one, and its offset is the point on the line
+ * where that component is zero.
+ * Every strut is registered against its line, so collinear and parallel struts are hash lookups.
+ * A connector lies on a line in every direction, so connectors are grouped by line only
+ * for directions that have been queried; those groups are then maintained like the struts,
+ * for a bounded number of directions.
+ *
+ * Each group is kept in model order, so results are too.  They include hidden manifestations,
+ * and are read-only views, valid until the model next changes.
+ * Like RealizedModel, this is not thread-safe.
+ */
+public class LineIndex
+{
+    // how many directions keep their connectors grouped by line, before we start over
+    private static final int MAX_CONNECTOR_ZONES = 32;
+
+    private static final Comparator<Manifestation> MODEL_ORDER = ( a, b ) -> Long .compare( a .getModelOrder(), b .getModelOrder() );
+
+    private final ManifestationStore manifestations;
+
+    private final Map<AlgebraicVector, Zone> zones = new HashMap<>();
+
+    private int connectorZones = 0;
+
+    LineIndex( ManifestationStore manifestations )
+    {
+        this .manifestations = manifestations;
+    }
+
+    /**
+     * All the lines in one direction.
+     */
+    private static final class Zone
+    {
+        final List<Strut> struts = new ArrayList<>();
+        final Map<AlgebraicVector, List<Strut>> strutLines = new HashMap<>();
+        // null until this direction is queried for connectors
+        Map<AlgebraicVector, List<Connector>> connectorLines;
+    }
+
+    void add( Manifestation m )
+    {
+        if ( m instanceof Strut ) {
+            Strut strut = (Strut) m;
+            if ( strut .getOffset() .isOrigin() )
+                return; // degenerate, and on no line
+            AlgebraicVector direction = direction( strut .getOffset() );
+            Zone zone = zones .computeIfAbsent( direction, d -> new Zone() );
+            zone .struts .add( strut );
+            zone .strutLines .computeIfAbsent( offset( strut .getLocation(), direction ), o -> new ArrayList<>() ) .add( strut );
+        }
+        else if ( m instanceof Connector && connectorZones > 0 ) {
+            for ( Map.Entry<AlgebraicVector, Zone> entry : zones .entrySet() ) {
+                Map<AlgebraicVector, List<Connector>> lines = entry .getValue() .connectorLines;
+                if ( lines != null )
+                    lines .computeIfAbsent( offset( m .getLocation(), entry .getKey() ), o -> new ArrayList<>() ) .add( (Connector) m );
+            }
+        }
+    }
+
+    /**
+     * Replace a manifestation by an equal one, keeping its position everywhere.
+     */
+    void replace( Manifestation previous, Manifestation m )
+    {
+        if ( m instanceof Strut ) {
+            if ( ( (Strut) m ) .getOffset() .isOrigin() )
+                return;
+            AlgebraicVector direction = direction( ( (Strut) m ) .getOffset() );
+            Zone zone = zones .get( direction );
+            replaceIn( zone .struts, previous, (Strut) m );
+            replaceIn( zone .strutLines .get( offset( m .getLocation(), direction ) ), previous, (Strut) m );
+        }
+        else if ( m instanceof Connector && connectorZones > 0 ) {
+            for ( Map.Entry<AlgebraicVector, Zone> entry : zones .entrySet() ) {
+                Map<AlgebraicVector, List<Connector>> lines = entry .getValue() .connectorLines;
+                if ( lines != null )
+                    replaceIn( lines .get( offset( m .getLocation(), entry .getKey() ) ), previous, (Connector) m );
+            }
+        }
+    }
+
+    void remove( Manifestation m )
+    {
+        if ( m instanceof Strut ) {
+            if ( ( (Strut) m ) .getOffset() .isOrigin() )
+                return;
+            AlgebraicVector direction = direction( ( (Strut) m ) .getOffset() );
+            Zone zone = zones .get( direction );
+            removeFrom( zone .struts, m );
+            AlgebraicVector offset = offset( m .getLocation(), direction );
+            if ( removeFrom( zone .strutLines .get( offset ), m ) )
+                zone .strutLines .remove( offset );
+            if ( zone .struts .isEmpty() && zone .connectorLines == null )
+                zones .remove( direction );
+        }
+        else if ( m instanceof Connector && connectorZones > 0 ) {
+            for ( Map.Entry<AlgebraicVector, Zone> entry : zones .entrySet() ) {
+                Map<AlgebraicVector, List<Connector>> lines = entry .getValue() .connectorLines;
+                if ( lines != null ) {
+                    AlgebraicVector offset = offset( m .getLocation(), entry .getKey() );
+                    if ( removeFrom( lines .get( offset ), m ) )
+                        lines .remove( offset );
+                }
+            }
+        }
+    }
+
+    private static <T extends Manifestation> void replaceIn( List<T> list, Manifestation previous, T m )
+    {
+        // search from the end, since recent additions are the most likely to change
+        for ( int i = list .size() - 1; i >= 0; i-- ) {
+            if ( list .get( i ) == previous ) {
+                list .set( i, m );
+                return;
+            }
+        }
+    }
+
+    // returns true if the list is now empty
+    private static boolean removeFrom( List<? extends Manifestation> list, Manifestation m )
+    {
+        for ( int i = list .size() - 1; i >= 0; i-- ) {
+            if ( list .get( i ) .equals( m ) ) {
+                list .remove( i );
+                break;
+            }
+        }
+        return list .isEmpty();
+    }
+
+    /**
+     * @return the direction scaled so that its first nonzero component is one
+     */
+    private static AlgebraicVector direction( AlgebraicVector vector )
+    {
+        AlgebraicNumber pivot = vector .getComponent( pivot( vector ) );
+        if ( pivot .isOne() )
+            return vector;
+        return vector .scale( pivot .reciprocal() );
+    }
+
+    private static int pivot( AlgebraicVector direction )
+    {
+        int i = 0;
+        while ( direction .getComponent( i ) .isZero() )
+            ++i;
+        return i;
+    }
+
+    /**
+     * @return the point on the line through the location, with the canonical direction,
+     *  where the direction's first nonzero component is zero
+     */
+    private static AlgebraicVector offset( AlgebraicVector location, AlgebraicVector direction )
+    {
+        AlgebraicNumber along = location .getComponent( pivot( direction ) );
+        if ( along .isZero() )
+            return location;
+        return location .minus( direction .scale( along ) );
+    }
+
+    /**
+     * All struts lying on the line through two distinct points, in model order.
+     */
+    public List<Strut> getCollinearStruts( AlgebraicVector start, AlgebraicVector end )
+    {
+        AlgebraicVector direction = direction( end .minus( start ) );
+        Zone zone = zones .get( direction );
+        if ( zone == null )
+            return Collections .emptyList();
+        List<Strut> struts = zone .strutLines .get( offset( start, direction ) );
+        if ( struts == null )
+            return Collections .emptyList();
+        return Collections .unmodifiableList( struts );
+    }
+
+    /**
+     * All connectors lying on the line through two distinct points, in model order.
+     * The first query in a direction visits every connector; later queries in that direction are lookups.
+     */
+    public List<Connector> getCollinearConnectors( AlgebraicVector start, AlgebraicVector end )
+    {
+        AlgebraicVector direction = direction( end .minus( start ) );
+        Zone zone = zones .get( direction );
+        if ( zone == null || zone .connectorLines == null ) {
+            // evict before creating the zone, since eviction removes zones with no struts
+            if ( connectorZones == MAX_CONNECTOR_ZONES )
+                dropConnectorLines();
+            zone = zones .computeIfAbsent( direction, d -> new Zone() );
+            Map<AlgebraicVector, List<Connector>> lines = new HashMap<>();
+            for ( Manifestation m : manifestations ) {
+                if ( m instanceof Connector )
+                    lines .computeIfAbsent( offset( m .getLocation(), direction ), o -> new ArrayList<>() ) .add( (Connector) m );
+            }
+            zone .connectorLines = lines;
+            ++connectorZones;
+        }
+        List<Connector> connectors = zone .connectorLines .get( offset( start, direction ) );
+        if ( connectors == null )
+            return Collections .emptyList();
+        return Collections .unmodifiableList( connectors );
+    }
+
+    // the number of directions with grouped connectors, for tests
+    int connectorZoneCount()
+    {
+        int count = 0;
+        for ( Zone zone : zones .values() )
+            if ( zone .connectorLines != null )
+                ++count;
+        return count;
+    }
+
+    private void dropConnectorLines()
+    {
+        for ( Iterator<Zone> zoneIter = zones .values() .iterator(); zoneIter .hasNext(); ) {
+            Zone zone = zoneIter .next();
+            zone .connectorLines = null;
+            if ( zone .struts .isEmpty() )
+                zoneIter .remove();
+        }
+        connectorZones = 0;
+    }
+
+    /**
+     * All struts parallel to a vector, in either sense, in model order.
+     */
+    public List<Strut> getParallelStruts( AlgebraicVector vector )
+    {
+        Zone zone = zones .get( direction( vector ) );
+        if ( zone == null )
+            return Collections .emptyList();
+        return Collections .unmodifiableList( zone .struts );
+    }
+
+    /**
+     * All struts in the directions that pass a test, in model order.
+     * The test sees one representative strut for each distinct direction, and decides for
+     * all the struts parallel to it, so this costs one test per direction rather than one per strut.
+     */
+    public List<Strut> getStruts( Predicate<Strut> directionFilter )
+    {
+        List<Strut> result = new ArrayList<>();
+        for ( Zone zone : zones .values() ) {
+            if ( ! zone .struts .isEmpty() && directionFilter .test( zone .struts .get( 0 ) ) )
+                result .addAll( zone .struts );
+        }
+        result .sort( MODEL_ORDER );
+        return result;
+    }
+}
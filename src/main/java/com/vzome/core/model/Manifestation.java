@@ -2,15 +2,16 @@
 
 package com.vzome.core.model;
 
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.Set;
+import java.util.NoSuchElementException;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
 import com.vzome.core.algebra.AlgebraicVector;
 import com.vzome.core.construction.Construction;
+import com.vzome.core.generic.IdSpace;
 import com.vzome.core.render.RenderedManifestation;
 
 /**
@@ -18,7 +19,12 @@ import com.vzome.core.render.RenderedManifestation;
  */
 public abstract class Manifestation implements GroupElement
 {
-    protected final Set<Construction> mManifests = new HashSet<>(5);
+    // Almost always one or two constructions, so a small array rather than a HashSet.
+    //  Constructions have identity equality, so this is still a set.
+    private Construction[] mManifests = NO_CONSTRUCTIONS;
+    private int mManifestCount = 0;
+
+    private static final Construction[] NO_CONSTRUCTIONS = new Construction[0];
     
     protected RenderedManifestation mRendered = null;
     
@@ -28,39 +34,124 @@ public abstract class Manifestation implements GroupElement
     
     private static final int NO_ID = -1;
     
-    private static int NEXT_ID = 0;
+
+    // position in the RealizedModel's iteration order, maintained by the model
+    private long mModelOrder;
+
+    /**
+     * @return a number that increases with this manifestation's position in its RealizedModel's iteration order,
+     *  so that other indices can report manifestations in that order
+     */
+    public long getModelOrder()
+    {
+        return mModelOrder;
+    }
+
+    void setModelOrder( long order )
+    {
+        mModelOrder = order;
+    }
+
+    // this manifestation's id in the model's IncidenceGraph
+    private int mIncidenceId = NO_ID;
+
+    int getIncidenceId()
+    {
+        return mIncidenceId;
+    }
+
+    void setIncidenceId( int id )
+    {
+        mIncidenceId = id;
+    }
         
-    void resetId()
+    /**
+     * Forget this manifestation's id, so the next getId() allocates a fresh one.
+     */
+    public void resetId()
     {
-        NEXT_ID = 0;
         mId = NO_ID;
     }
     
-    int getId()
+    /**
+     * Not thread-safe; see IdSpace.
+     * @param ids the id space of the model or export that is numbering manifestations
+     * @return this manifestation's id, allocating it from ids if it has none
+     */
+    public int getId( IdSpace ids )
     {
         if ( mId == NO_ID )
-            mId = NEXT_ID++;
+            mId = Math .toIntExact( ids .next() );
         return mId;
     }
     
     public void addConstruction( Construction c )
     {
-        mManifests .add( c );
+        for ( int i = 0; i < mManifestCount; i++ ) {
+            if ( mManifests[ i ] .equals( c ) )
+                return;
+        }
+        if ( mManifestCount == mManifests .length )
+            mManifests = Arrays .copyOf( mManifests, mManifestCount == 0? 1 : 2 * mManifestCount );
+        mManifests[ mManifestCount++ ] = c;
     }
     
     public void removeConstruction( Construction c )
     {
-        mManifests .remove( c );
+        for ( int i = 0; i < mManifestCount; i++ ) {
+            if ( mManifests[ i ] .equals( c ) ) {
+                System .arraycopy( mManifests, i + 1, mManifests, i, mManifestCount - i - 1 );
+                mManifests[ --mManifestCount ] = null;
+                return;
+            }
+        }
     }
     
+    /**
+     * The constructions manifested here, in the order they were added.
+     */
     public Iterator<Construction> getConstructions()
     {
-        return mManifests .iterator();
+        final Construction[] constructions = mManifests;
+        final int count = mManifestCount;
+        return new Iterator<Construction>()
+        {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext()
+            {
+                return next < count;
+            }
+
+            @Override
+            public Construction next()
+            {
+                if ( next >= count )
+                    throw new NoSuchElementException();
+                return constructions[ next++ ];
+            }
+        };
     }
     
     public boolean isUnnecessary()
     {
-        return mManifests .isEmpty();
+        return mManifestCount == 0;
+    }
+    
+    /**
+     * A 64-bit hash of the coordinates, consistent with equals(), for RealizedModel's store.
+     */
+    abstract long coordinateHash();
+
+    static long coordinateHash( AlgebraicVector v )
+    {
+        long h = v .dimension();
+        for ( int i = 0; i < v .dimension(); i++ ) {
+            h = ( h ^ v .getComponent( i ) .hashCode() ) * 0x9E3779B97F4A7C15L;
+            h ^= h >>> 32;
+        }
+        return h;
     }
     
     public void setRenderedObject( RenderedManifestation obj )
@@ -107,8 +198,8 @@ public abstract class Manifestation implements GroupElement
 
     public Element getXml( Document doc )
     {
-    	return mManifests .isEmpty()
+    	return ( mManifestCount == 0 )
                 ? doc .createElement( "NoConstructions" )
-                : mManifests .iterator() .next() .getXml( doc );
+                : mManifests[ 0 ] .getXml( doc );
     }
 }
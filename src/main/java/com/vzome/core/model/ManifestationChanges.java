@@ -1,6 +1,8 @@
-
 package com.vzome.core.model;
 
+import java.util.Collection;
+import java.util.Map;
+
 import com.vzome.core.render.Color;
 
 
@@ -11,4 +13,26 @@ public interface ManifestationChanges
     void manifestationRemoved( Manifestation m );
     
     void manifestationColored( Manifestation m, Color color );
+
+    /**
+     * The changes of one batch, such as one edit, delivered together.
+     * Listeners that can do better than one change at a time should override these.
+     */
+    default void manifestationsAdded( Collection<Manifestation> added )
+    {
+        for ( Manifestation m : added )
+            manifestationAdded( m );
+    }
+
+    default void manifestationsRemoved( Collection<Manifestation> removed )
+    {
+        for ( Manifestation m : removed )
+            manifestationRemoved( m );
+    }
+
+    default void colorsChanged( Map<Manifestation, Color> colors )
+    {
+        for ( Map.Entry<Manifestation, Color> entry : colors .entrySet() )
+            manifestationColored( entry .getKey(), entry .getValue() );
+    }
 }
@@ -0,0 +1,204 @@
+package com.vzome.core.model;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The set of manifestations in a RealizedModel, in insertion order.
+ * This replaces a LinkedHashMap, whose entry objects dominated the heap for large models.
+ *
+ * Manifestations live in a dense array in insertion order, with a parallel array of
+ * their 64-bit coordinate hashes, computed once on insertion.
+ * An open-addressing table of int indices into those arrays (linear probing) finds them;
+ * probes compare the stored hashes before calling equals(), so lookups allocate nothing
+ * and rarely touch the manifestations themselves.
+ * Removal leaves a hole in the dense arrays, and the arrays are compacted when holes dominate.
+ *
+ * Like RealizedModel, this is not thread-safe.
+ */
+final class ManifestationStore implements Iterable<Manifestation>
+{
+    private static final int EMPTY = -1, DELETED = -2;
+
+    // dense, in insertion order; removed entries are null until the next compaction
+    private Manifestation[] elements = new Manifestation[ 16 ];
+    private long[] hashes = new long[ 16 ];
+    private int end = 0;
+
+    // indices into elements, or EMPTY or DELETED; the length is a power of two
+    private int[] table = newTable( 32 );
+    private int used = 0; // slots that are not EMPTY
+
+    private int size = 0;
+    private int modifications = 0;
+
+    int size()
+    {
+        return this .size;
+    }
+
+    /**
+     * @return the stored manifestation equal to the key, or null
+     */
+    Manifestation get( Manifestation key )
+    {
+        int slot = find( key, key .coordinateHash() );
+        return ( slot < 0 )? null : elements[ table[ slot ] ];
+    }
+
+    /**
+     * Store m, replacing an equal manifestation in place if there is one.
+     * @return the manifestation replaced, or null
+     */
+    Manifestation put( Manifestation m )
+    {
+        long hash = m .coordinateHash();
+        int slot = find( m, hash );
+        if ( slot >= 0 ) {
+            int index = table[ slot ];
+            Manifestation previous = elements[ index ];
+            elements[ index ] = m;
+            return previous;
+        }
+        if ( end == elements .length ) {
+            if ( 2 * size < end )
+                compact();
+            else {
+                elements = Arrays .copyOf( elements, 2 * end );
+                hashes = Arrays .copyOf( hashes, 2 * end );
+            }
+        }
+        if ( 4 * ( used + 1 ) > 3 * table .length )
+            rehash( ( 2 * ( size + 1 ) > table .length / 2 )? 2 * table .length : table .length );
+        elements[ end ] = m;
+        hashes[ end ] = hash;
+        slot = insertionSlot( hash );
+        if ( table[ slot ] == EMPTY )
+            ++used;
+        table[ slot ] = end++;
+        ++size;
+        ++modifications;
+        return null;
+    }
+
+    /**
+     * @return the stored manifestation equal to the key, now removed, or null
+     */
+    Manifestation remove( Manifestation key )
+    {
+        int slot = find( key, key .coordinateHash() );
+        if ( slot < 0 )
+            return null;
+        int index = table[ slot ];
+        Manifestation removed = elements[ index ];
+        elements[ index ] = null;
+        table[ slot ] = DELETED;
+        --size;
+        ++modifications;
+        return removed;
+    }
+
+    // the slot holding an element equal to the key, or -1
+    private int find( Manifestation key, long hash )
+    {
+        int mask = table .length - 1;
+        for ( int slot = spread( hash ) & mask; ; slot = ( slot + 1 ) & mask ) {
+            int index = table[ slot ];
+            if ( index == EMPTY )
+                return -1;
+            if ( index != DELETED && hashes[ index ] == hash && elements[ index ] .equals( key ) )
+                return slot;
+        }
+    }
+
+    // the first EMPTY or DELETED slot for the hash
+    private int insertionSlot( long hash )
+    {
+        int mask = table .length - 1;
+        int slot = spread( hash ) & mask;
+        while ( table[ slot ] >= 0 )
+            slot = ( slot + 1 ) & mask;
+        return slot;
+    }
+
+    private static int spread( long hash )
+    {
+        return (int) ( hash ^ ( hash >>> 32 ) );
+    }
+
+    private static int[] newTable( int length )
+    {
+        int[] table = new int[ length ];
+        Arrays .fill( table, EMPTY );
+        return table;
+    }
+
+    // squeeze out the holes, preserving order, and rebuild the table
+    private void compact()
+    {
+        int j = 0;
+        for ( int i = 0; i < end; i++ ) {
+            if ( elements[ i ] != null ) {
+                elements[ j ] = elements[ i ];
+                hashes[ j ] = hashes[ i ];
+                ++j;
+            }
+        }
+        Arrays .fill( elements, j, end, null );
+        end = j;
+        rehash( table .length );
+    }
+
+    private void rehash( int length )
+    {
+        table = newTable( length );
+        used = 0;
+        for ( int i = 0; i < end; i++ ) {
+            if ( elements[ i ] != null ) {
+                table[ insertionSlot( hashes[ i ] ) ] = i;
+                ++used;
+            }
+        }
+    }
+
+    /**
+     * Iterates in insertion order, and fails fast if the store is modified.
+     * Removal must go through RealizedModel.remove(), to keep its other indices consistent.
+     */
+    @Override
+    public Iterator<Manifestation> iterator()
+    {
+        return new Iterator<Manifestation>()
+        {
+            private int next = advance( 0 );
+            private int expected = modifications;
+
+            private int advance( int from )
+            {
+                while ( from < end && elements[ from ] == null )
+                    ++from;
+                return from;
+            }
+
+            @Override
+            public boolean hasNext()
+            {
+                return next < end;
+            }
+
+            @Override
+            public Manifestation next()
+            {
+                if ( expected != modifications )
+                    throw new ConcurrentModificationException();
+                if ( next >= end )
+                    throw new NoSuchElementException();
+                Manifestation result = elements[ next ];
+                next = advance( next + 1 );
+                return result;
+            }
+        };
+    }
+}
@@ -87,6 +87,16 @@ public class Panel extends Manifestation implements Iterable<AlgebraicVector>
         return val;
     }
 
+    @Override
+    long coordinateHash()
+    {
+        // independent of vertex order, like equals
+        long sum = 0;
+        for ( AlgebraicVector vertex : mVertices )
+            sum += coordinateHash( vertex );
+        return sum * 0x165667B19E3779F9L;
+    }
+
 	@Override
     public boolean equals( Object other )
     {
@@ -0,0 +1,245 @@
+package com.vzome.core.model;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.vzome.core.algebra.AlgebraicNumber;
+import com.vzome.core.algebra.AlgebraicVector;
+
+/**
+ * Plane and half-space queries over the locations of a RealizedModel.
+ *
+ * For each plane normal queried, the model's locations are projected onto the normal
+ * in double precision, each with a rigorous error bound (see AlgebraicNumber.getApproximation()),
+ * and sorted by projection.  A plane through any anchor with that normal then splits the sorted
+ * locations into three ranges: those certainly below, those certainly above, and a thin band
+ * near the plane, where only the locations whose intervals actually reach the plane need exact
+ * arithmetic.  Queries visit only the locations in the ranges they ask for.
+ *
+ * Sorted projections are cached for a few normals, and rebuilt only when the set of locations changes,
+ * so repeated selections with the same plane cost time proportional to the answer.
+ *
+ * Like RealizedModel, this is not thread-safe.
+ */
+public class ProjectionIndex
+{
+    // how many normals keep their sorted projections
+    private static final int MAX_NORMALS = 4;
+
+    // relative error of a few double products and sums, with plenty of slack
+    private static final double ROUNDING = 0x1p-45;
+
+    private final IncidenceGraph graph;
+
+    private final Map<AlgebraicVector, Sorted> cache = new LinkedHashMap<AlgebraicVector, Sorted>( 8, 0.75f, true )
+    {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry( Map.Entry<AlgebraicVector, Sorted> eldest )
+        {
+            return size() > MAX_NORMALS;
+        }
+    };
+
+    ProjectionIndex( IncidenceGraph graph )
+    {
+        this .graph = graph;
+    }
+
+    /**
+     * @param normal a nonzero vector perpendicular to the plane; "above" is the side it points to
+     * @param anchor any point on the plane
+     */
+    public Plane getPlane( AlgebraicVector normal, AlgebraicVector anchor )
+    {
+        Sorted sorted = cache .get( normal );
+        if ( sorted == null || sorted .locationChanges != graph .locationChanges() ) {
+            sorted = new Sorted( normal );
+            cache .put( normal, sorted );
+        }
+        return new Plane( sorted, anchor );
+    }
+
+    // an interval around the dot product, as { value, error }
+    private static void project( AlgebraicVector normal, AlgebraicVector location, double[] result )
+    {
+        double value = 0d, error = 0d, magnitude = 0d;
+        for ( int i = 0; i < normal .dimension(); i++ ) {
+            AlgebraicNumber n = normal .getComponent( i ), p = location .getComponent( i );
+            double nv = n .getApproximation(), ne = n .getApproximationError();
+            double pv = p .getApproximation(), pe = p .getApproximationError();
+            double term = nv * pv;
+            value += term;
+            magnitude += Math .abs( term );
+            error += Math .abs( nv ) * pe + Math .abs( pv ) * ne + ne * pe;
+        }
+        result[ 0 ] = value;
+        result[ 1 ] = error + ( magnitude + error ) * ROUNDING;
+    }
+
+    /**
+     * The locations sorted by their projections on one normal.
+     */
+    private final class Sorted
+    {
+        final AlgebraicVector normal;
+        final int locationChanges;
+        // by location id
+        final double[] projections, errors;
+        // location ids in use, in increasing order of projection, and their projections
+        final int[] order;
+        final double[] sortedProjections;
+        final double maxError;
+
+        Sorted( AlgebraicVector normal )
+        {
+            this .normal = normal;
+            this .locationChanges = graph .locationChanges();
+            int limit = graph .locationLimit();
+            this .projections = new double[ limit ];
+            this .errors = new double[ limit ];
+            double[] interval = new double[ 2 ];
+            double max = 0d;
+            List<Integer> ids = new ArrayList<>( limit );
+            for ( int loc = 0; loc < limit; loc++ ) {
+                AlgebraicVector location = graph .locationAt( loc );
+                if ( location == null )
+                    continue;
+                project( normal, location, interval );
+                projections[ loc ] = interval[ 0 ];
+                errors[ loc ] = interval[ 1 ];
+                max = Math .max( max, interval[ 1 ] );
+                ids .add( loc );
+            }
+            ids .sort( ( a, b ) -> Double .compare( projections[ a ], projections[ b ] ) );
+            this .order = new int[ ids .size() ];
+            this .sortedProjections = new double[ ids .size() ];
+            for ( int i = 0; i < order .length; i++ ) {
+                order[ i ] = ids .get( i );
+                sortedProjections[ i ] = projections[ order[ i ] ];
+            }
+            this .maxError = max;
+        }
+    }
+
+    /**
+     * One plane: a normal and an anchor.
+     * A Plane is valid until the set of locations in the model next changes.
+     */
+    public final class Plane
+    {
+        private final Sorted sorted;
+        private final AlgebraicNumber offset;
+        private final double offsetValue, offsetError;
+
+        private Plane( Sorted sorted, AlgebraicVector anchor )
+        {
+            this .sorted = sorted;
+            this .offset = sorted .normal .dot( anchor );
+            double[] interval = new double[ 2 ];
+            project( sorted .normal, anchor, interval );
+            this .offsetValue = interval[ 0 ];
+            this .offsetError = interval[ 1 ];
+        }
+
+        /**
+         * @return the exact side of the plane the location is on: 1 above, -1 below, or 0 on the plane
+         */
+        public int orient( AlgebraicVector location )
+        {
+            checkCurrent();
+            int loc = graph .findLocation( location );
+            if ( loc >= 0 )
+                return orient( loc );
+            return exactOrient( location );
+        }
+
+        private void checkCurrent()
+        {
+            if ( sorted .locationChanges != graph .locationChanges() )
+                throw new IllegalStateException( "the model has changed since this plane was created" );
+        }
+
+        private int orient( int loc )
+        {
+            double difference = sorted .projections[ loc ] - offsetValue;
+            // the errors include enough slack for the rounding of this subtraction
+            double error = sorted .errors[ loc ] + offsetError;
+            if ( difference > error )
+                return 1;
+            if ( difference < -error )
+                return -1;
+            return exactOrient( graph .locationAt( loc ) );
+        }
+
+        private int exactOrient( AlgebraicVector location )
+        {
+            return sorted .normal .dot( location ) .compareTo( offset );
+        }
+
+        /**
+         * Find every manifestation with a connector, strut end, or panel vertex at a location on the chosen sides of the plane.
+         * This visits only the locations on those sides, and those close to the plane.
+         * @return the manifestations, without duplicates, in model order; hidden manifestations are included
+         */
+        public List<Manifestation> getIncidentManifestations( boolean below, boolean on, boolean above )
+        {
+            checkCurrent();
+            double[] values = sorted .sortedProjections;
+            double band = sorted .maxError + offsetError;
+            // [ 0, low ) are certainly below, and [ high, length ) certainly above
+            int low = lowerBound( values, offsetValue - band );
+            int high = upperBound( values, offsetValue + band );
+            List<Manifestation> result = new ArrayList<>();
+            BitSet reported = new BitSet( graph .manifestationLimit() );
+            if ( below ) {
+                for ( int i = 0; i < low; i++ )
+                    graph .collectIncident( sorted .order[ i ], reported, result );
+            }
+            for ( int i = low; i < high; i++ ) {
+                int loc = sorted .order[ i ];
+                int side = orient( loc );
+                if ( ( side < 0 && below ) || ( side == 0 && on ) || ( side > 0 && above ) )
+                    graph .collectIncident( loc, reported, result );
+            }
+            if ( above ) {
+                for ( int i = high; i < values .length; i++ )
+                    graph .collectIncident( sorted .order[ i ], reported, result );
+            }
+            result .sort( ( a, b ) -> Long .compare( a .getModelOrder(), b .getModelOrder() ) );
+            return result;
+        }
+    }
+
+    // the first index with values[ index ] >= key
+    private static int lowerBound( double[] values, double key )
+    {
+        int low = 0, high = values .length;
+        while ( low < high ) {
+            int mid = ( low + high ) >>> 1;
+            if ( values[ mid ] < key )
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    // the first index with values[ index ] > key
+    private static int upperBound( double[] values, double key )
+    {
+        int low = 0, high = values .length;
+        while ( low < high ) {
+            int mid = ( low + high ) >>> 1;
+            if ( values[ mid ] <= key )
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+}
@@ -3,11 +3,12 @@
 package com.vzome.core.model;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -18,6 +19,7 @@ import com.vzome.core.construction.Construction;
 import com.vzome.core.construction.Point;
 import com.vzome.core.construction.Polygon;
 import com.vzome.core.construction.Segment;
+import com.vzome.core.generic.IdSpace;
 import com.vzome.core.math.Projection;
 import com.vzome.core.render.Color;
 
@@ -28,8 +30,20 @@ public class RealizedModel implements Iterable<Manifestation> //implements Const
 {
     private final List<ManifestationChanges> mListeners = new ArrayList<>( 1 );
 
-    // TODO: DJH: Can this be replaced by a HashSet since the key is always equal to the value.
-    private final HashMap<Manifestation, Manifestation> mManifestations = new LinkedHashMap<>( 1000 );
+    private final ManifestationStore mManifestations = new ManifestationStore();
+
+    // Every manifestation incident on each location, in the same order as mManifestations.
+    private final IncidenceGraph mIncidences = new IncidenceGraph();
+
+    // Struts and connectors grouped by the lines they lie on.
+    private final LineIndex mLines = new LineIndex( mManifestations );
+
+    // Locations sorted along plane normals, for plane and half-space queries.
+    private final ProjectionIndex mProjections = new ProjectionIndex( mIncidences );
+
+    private long mNextOrder = 0;
+
+    private final IdSpace mIds = new IdSpace();
     
     private Projection mProjection;
 
@@ -45,7 +59,7 @@ public class RealizedModel implements Iterable<Manifestation> //implements Const
     public Set<Manifestation> moreVisibleThan( RealizedModel other )
     {
         Set<Manifestation> result = new HashSet<>();
-        for (Manifestation man : mManifestations .values()) {
+        for (Manifestation man : mManifestations) {
             if ( man .isHidden() )
                 continue;
             Manifestation doppel = other .mManifestations .get( man );
@@ -68,7 +82,7 @@ public class RealizedModel implements Iterable<Manifestation> //implements Const
 	@Override
 	public Iterator<Manifestation> iterator()
 	{
-        return mManifestations .keySet() .iterator();
+        return mManifestations .iterator();
 	}
 
     /**
@@ -116,22 +130,113 @@ public class RealizedModel implements Iterable<Manifestation> //implements Const
     
     public void add( Manifestation m )
     {
-        // TODO: DJH: Can this be replaced by a HashSet since the key is always equal to the value.
-        mManifestations .put( m, m );
+        Manifestation previous = mManifestations .put( m );
+        if ( previous == null ) {
+            m .setModelOrder( mNextOrder++ );
+            mIncidences .add( m );
+            mLines .add( m );
+        }
+        else if ( previous != m ) {
+            // the store keeps its position, so the replacement does too
+            m .setModelOrder( previous .getModelOrder() );
+            mIncidences .replace( previous, m );
+            mLines .replace( previous, m );
+        }
         if ( logger .isLoggable( Level .FINER ) )
             logger .finer( "add manifestation: " + m .toString() );
     }
     
     public void remove( Manifestation m )
     {
-        mManifestations .remove( m );
+        Manifestation removed = mManifestations .remove( m );
+        if ( removed != null ) {
+            mIncidences .remove( removed );
+            mLines .remove( removed );
+        }
         if ( logger .isLoggable( Level .FINER ) )
             logger .finer( "remove manifestation: " + m .toString() );
     }
+
+    /**
+     * The id space for manifestations in this model; see Manifestation.getId().
+     */
+    public IdSpace getIdSpace()
+    {
+        return mIds;
+    }
+
+    /**
+     * Number this model's manifestations from zero again, as an export that writes ids needs,
+     * without affecting any other model.
+     */
+    public void resetIds()
+    {
+        mIds .reset();
+        for ( Manifestation m : mManifestations )
+            m .resetId();
+    }
+
+    /**
+     * The ball-strut-panel connectivity of this model, maintained by add() and remove().
+     */
+    public IncidenceGraph getIncidenceGraph()
+    {
+        return mIncidences;
+    }
+
+    /**
+     * The struts and connectors of this model grouped by line, maintained by add() and remove().
+     */
+    public LineIndex getLineIndex()
+    {
+        return mLines;
+    }
+
+    /**
+     * Plane and half-space queries over the locations of this model.
+     */
+    public ProjectionIndex getProjectionIndex()
+    {
+        return mProjections;
+    }
+
+    /**
+     * All manifestations in this model incident on a location: the connector there,
+     * any struts with an end there, and any panels with a vertex there.
+     * The result is in the same order as iterator(), and is a read-only view, valid until the model next changes.
+     * Hidden manifestations are included.
+     */
+    public List<Manifestation> getIncidentManifestations( AlgebraicVector location )
+    {
+        return mIncidences .getIncidentManifestations( location );
+    }
+
+    /**
+     * @return the connector in this model at the location, or null if there is none
+     */
+    public Connector getConnector( AlgebraicVector location )
+    {
+        return mIncidences .getConnector( location );
+    }
+
+    /**
+     * @return the connectors in this model at any of the locations, in the same order as iterator()
+     */
+    public List<Connector> getConnectors( AlgebraicVector... locations )
+    {
+        List<Connector> result = new ArrayList<>( locations .length );
+        for ( AlgebraicVector location : locations ) {
+            Connector connector = getConnector( location );
+            if ( connector != null && ! result .contains( connector ) )
+                result .add( connector );
+        }
+        result .sort( ( a, b ) -> Long .compare( a .getModelOrder(), b .getModelOrder() ) );
+        return result;
+    }
     
     public void refresh( boolean on, RealizedModel unused )
     {
-        for (Manifestation man : mManifestations .keySet()) {
+        for (Manifestation man : mManifestations) {
             if ( ! man .isHidden() )
             {
                 if ( on )
@@ -147,13 +252,8 @@ public class RealizedModel implements Iterable<Manifestation> //implements Const
      */
     public void show( Manifestation m )
     {
-        if ( doingBatch )
-        {
-            if ( removals .contains( m ) )
-                removals .remove( m );
-            else
-                additions .add( m );
-        }
+        if ( batchDepth > 0 )
+            pend( m, Boolean.TRUE );
         else
             privateShow( m );
     }
@@ -173,13 +273,8 @@ public class RealizedModel implements Iterable<Manifestation> //implements Const
      */
     public void hide( Manifestation m )
     {
-        if ( doingBatch )
-        {
-            if ( additions .contains( m ) )
-                additions .remove( m );
-            else
-                removals .add( m );
-        }
+        if ( batchDepth > 0 )
+            pend( m, Boolean.FALSE );
         else
             privateHide( m );
     }
@@ -195,7 +290,11 @@ public class RealizedModel implements Iterable<Manifestation> //implements Const
     
     public void setColor( Manifestation m, Color color )
     {
-        if ( m .isRendered() ) {
+        if ( batchDepth > 0 ) {
+            if ( pendingColors .put( m, color ) == null )
+                colorOrder .add( m );
+        }
+        else if ( m .isRendered() ) {
             for (ManifestationChanges next : mListeners) {
                 next .manifestationColored( m, color );
             }
@@ -205,6 +304,12 @@ public class RealizedModel implements Iterable<Manifestation> //implements Const
     
     public Manifestation findConstruction( Construction c )
     {
+        if ( c instanceof Point ) {
+            // look up by location, rather than creating a Connector just to hash it
+            AlgebraicVector location = mProjection .projectImage( ( (Point) c ) .getLocation(), true );
+            Connector actual = getConnector( location );
+            return ( actual == null )? new Connector( location ) : actual;
+        }
         Manifestation testMan = manifest( c );
         if ( testMan == null )
             return null;
@@ -233,8 +338,10 @@ public class RealizedModel implements Iterable<Manifestation> //implements Const
      */
     public Manifestation getManifestation( Construction c )
     {
+        if ( c instanceof Point )
+            return getConnector( mProjection .projectImage( ( (Point) c ) .getLocation(), true ) );
         Manifestation m = manifest( c );
-        return mManifestations .get( m );
+        return ( m == null )? null : mManifestations .get( m );
     }
 
 	public int size()
@@ -258,8 +365,8 @@ public class RealizedModel implements Iterable<Manifestation> //implements Const
 
         if ( this.size() != that.size() )
             return false;
-        for (Manifestation man : mManifestations .keySet()) {
-            if ( ! that .mManifestations .keySet() .contains( man ) ) {
+        for (Manifestation man : mManifestations) {
+            if ( that .mManifestations .get( man ) == null ) {
                 return false;
             }
         }
@@ -272,30 +379,70 @@ public class RealizedModel implements Iterable<Manifestation> //implements Const
         return size();
     }
     
-    private boolean doingBatch = false;
-    
-    private final Set<Manifestation> additions = new HashSet<>();
-    
-    private final Set<Manifestation> removals = new HashSet<>();
+    private int batchDepth = 0;
+
+    // The last show (TRUE) or hide (FALSE) of each manifestation in the batch, and the order they were first seen.
+    // These are by identity, since hiding one manifestation and showing an equal one are two changes.
+    private final Map<Manifestation, Boolean> pendingShows = new IdentityHashMap<>();
+    private final List<Manifestation> showOrder = new ArrayList<>();
+    private final Map<Manifestation, Color> pendingColors = new IdentityHashMap<>();
+    private final List<Manifestation> colorOrder = new ArrayList<>();
+
+    private void pend( Manifestation m, Boolean showing )
+    {
+        if ( pendingShows .put( m, showing ) == null )
+            showOrder .add( m );
+    }
 
+    /**
+     * Hold back show(), hide(), and setColor() notifications until the matching endBatch(),
+     * so that listeners hear about a whole edit at once, through the bulk methods of ManifestationChanges.
+     * Batches may nest; only the outermost endBatch() notifies.
+     * Until then, the rendered state of the manifestations shown or hidden does not change.
+     */
     public void startBatch()
     {
-        additions .clear();
-        removals .clear();
-        doingBatch = true;
+        ++batchDepth;
     }
 
     public void endBatch()
     {
-        for (Manifestation m : removals) {
-            privateHide( m );
+        if ( --batchDepth > 0 )
+            return;
+        List<Manifestation> removed = new ArrayList<>();
+        List<Manifestation> added = new ArrayList<>();
+        for ( Manifestation m : showOrder ) {
+            // as for show() and hide(), only the final state matters
+            if ( pendingShows .get( m ) ) {
+                if ( ! m .isRendered() )
+                    added .add( m );
+            }
+            else if ( m .isRendered() )
+                removed .add( m );
         }
-        for (Manifestation m : additions) {
-            privateShow( m );
+        pendingShows .clear();
+        showOrder .clear();
+        if ( ! removed .isEmpty() )
+            for (ManifestationChanges next : mListeners) {
+                next .manifestationsRemoved( removed );
+            }
+        if ( ! added .isEmpty() )
+            for (ManifestationChanges next : mListeners) {
+                next .manifestationsAdded( added );
+            }
+
+        // colors last, since only rendered manifestations can be colored
+        Map<Manifestation, Color> colors = new LinkedHashMap<>();
+        for ( Manifestation m : colorOrder ) {
+            if ( m .isRendered() )
+                colors .put( m, pendingColors .get( m ) );
         }
-        additions .clear();
-        removals .clear();
-        this .doingBatch = false;
+        pendingColors .clear();
+        colorOrder .clear();
+        if ( ! colors .isEmpty() )
+            for (ManifestationChanges next : mListeners) {
+                next .colorsChanged( colors );
+            }
     }
 
 	public AlgebraicField getField()
@@ -39,6 +39,13 @@ public class Strut extends Manifestation implements Comparable<Strut>
         return result;
 	}
 
+	@Override
+	long coordinateHash()
+	{
+	    // symmetric, like equals
+	    return ( coordinateHash( m_end1 ) + coordinateHash( m_end2 ) ) * 0xC2B2AE3D27D4EB4FL;
+	}
+
 	@Override
 	public boolean equals( Object obj )
 	{
@@ -0,0 +1,129 @@
+package com.vzome.core.render;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.vzome.core.algebra.AlgebraicNumber;
+import com.vzome.core.math.symmetry.Direction;
+import com.vzome.core.model.Connector;
+import com.vzome.core.model.Manifestation;
+
+/**
+ * The rendered manifestations of a RenderedModel, grouped by the attributes that
+ * RenderedModel.resetAttributes() has already computed: struts by orbit and length,
+ * and panels by the orbit of their normal.
+ * RenderedModel keeps this up to date as manifestations are rendered, removed, and re-rendered
+ * for a new orbit source, so similar-strut selection and parts lists need no axis lookups.
+ *
+ * Sets are by identity, since distinct RenderedManifestations can be equal.
+ * Like RenderedModel, this is not thread-safe.
+ */
+final class OrbitIndex
+{
+    private static final Comparator<Manifestation> MODEL_ORDER = ( a, b ) -> Long .compare( a .getModelOrder(), b .getModelOrder() );
+
+    private final Map<Direction, Map<AlgebraicNumber, Set<RenderedManifestation>>> struts = new HashMap<>();
+
+    private final Map<Direction, Set<RenderedManifestation>> panels = new HashMap<>();
+
+    private int connectors = 0;
+
+    void add( RenderedManifestation rm )
+    {
+        if ( rm .getManifestation() instanceof Connector )
+            ++connectors;
+        else if ( rm .getStrutOrbit() != null )
+            struts .computeIfAbsent( rm .getStrutOrbit(), o -> new HashMap<>() )
+                .computeIfAbsent( rm .getStrutLength(), l -> newSet() ) .add( rm );
+        else if ( rm .getPanelOrbit() != null )
+            panels .computeIfAbsent( rm .getPanelOrbit(), o -> newSet() ) .add( rm );
+    }
+
+    void remove( RenderedManifestation rm )
+    {
+        if ( rm .getManifestation() instanceof Connector )
+            --connectors;
+        else if ( rm .getStrutOrbit() != null ) {
+            Map<AlgebraicNumber, Set<RenderedManifestation>> byLength = struts .get( rm .getStrutOrbit() );
+            if ( byLength == null )
+                return;
+            Set<RenderedManifestation> set = byLength .get( rm .getStrutLength() );
+            if ( set != null && set .remove( rm ) && set .isEmpty() ) {
+                byLength .remove( rm .getStrutLength() );
+                if ( byLength .isEmpty() )
+                    struts .remove( rm .getStrutOrbit() );
+            }
+        }
+        else if ( rm .getPanelOrbit() != null ) {
+            Set<RenderedManifestation> set = panels .get( rm .getPanelOrbit() );
+            if ( set != null && set .remove( rm ) && set .isEmpty() )
+                panels .remove( rm .getPanelOrbit() );
+        }
+    }
+
+    void clear()
+    {
+        struts .clear();
+        panels .clear();
+        connectors = 0;
+    }
+
+    private static Set<RenderedManifestation> newSet()
+    {
+        return Collections .newSetFromMap( new IdentityHashMap<>() );
+    }
+
+    /**
+     * @param length null to match any length
+     * @return the manifestations of the matching struts, in model order
+     */
+    List<Manifestation> getStruts( Direction orbit, AlgebraicNumber length )
+    {
+        Map<AlgebraicNumber, Set<RenderedManifestation>> byLength = struts .get( orbit );
+        if ( byLength == null )
+            return Collections .emptyList();
+        if ( length != null )
+            return inModelOrder( byLength .getOrDefault( length, Collections .emptySet() ) );
+        List<RenderedManifestation> all = new ArrayList<>();
+        for ( Set<RenderedManifestation> set : byLength .values() )
+            all .addAll( set );
+        return inModelOrder( all );
+    }
+
+    List<Manifestation> getPanels( Direction orbit )
+    {
+        return inModelOrder( panels .getOrDefault( orbit, Collections .emptySet() ) );
+    }
+
+    private static List<Manifestation> inModelOrder( Iterable<RenderedManifestation> rms )
+    {
+        List<Manifestation> result = new ArrayList<>();
+        for ( RenderedManifestation rm : rms )
+            result .add( rm .getManifestation() );
+        result .sort( MODEL_ORDER );
+        return result;
+    }
+
+    Map<Direction, Map<AlgebraicNumber, Integer>> getStrutCounts()
+    {
+        Map<Direction, Map<AlgebraicNumber, Integer>> result = new HashMap<>();
+        for ( Map.Entry<Direction, Map<AlgebraicNumber, Set<RenderedManifestation>>> orbit : struts .entrySet() ) {
+            Map<AlgebraicNumber, Integer> histogram = new HashMap<>();
+            for ( Map.Entry<AlgebraicNumber, Set<RenderedManifestation>> length : orbit .getValue() .entrySet() )
+                histogram .put( length .getKey(), length .getValue() .size() );
+            result .put( orbit .getKey(), histogram );
+        }
+        return result;
+    }
+
+    int getConnectorCount()
+    {
+        return connectors;
+    }
+}
@@ -47,6 +47,11 @@ public class RenderedManifestation
 	private Direction strutOrbit = null;
 
 	private int strutSense;
+
+	private Direction panelOrbit = null;
+
+	// this manifestation's slot in its model's SnapshotTracker, or -1 if not tracked
+	int snapshotSlot = -1;
     
 //    private transient Axis mAxis = null;
 
@@ -65,6 +70,13 @@ public class RenderedManifestation
 		this .model = model;
 	}
 
+	// for any change that a snapshot would copy
+	private void changed()
+	{
+		if ( this .snapshotSlot >= 0 )
+			this .model .renderedChanged( this );
+	}
+
     public void setGraphicsObject( Object go )
     {
         mGraphicsObject = go;
@@ -79,6 +91,7 @@ public class RenderedManifestation
     public void setGlow( float glow )
     {
         mGlow = glow;
+        changed();
     }
 
 
@@ -91,6 +104,7 @@ public class RenderedManifestation
     public void setTransparency( float trans )
     {
         mTransparency = trans;
+        changed();
     }
 
 
@@ -109,6 +123,7 @@ public class RenderedManifestation
     public void setShape( Polyhedron shape )
     {
         mShape = shape;
+        changed();
     }
     
     public Polyhedron getShape()
@@ -139,11 +154,13 @@ public class RenderedManifestation
 	public void setColor( Color color )
 	{
 		this.color = color;
+		changed();
 	}
 
 	public void setOrientation( AlgebraicMatrix m )
     {
         mOrientation = m;
+        changed();
     }
 
     public AlgebraicMatrix getOrientation()
@@ -250,15 +267,39 @@ public class RenderedManifestation
         copy .mTransparency = this .mTransparency;
         copy .strutLength = this .strutLength;
         copy .strutZone = this .strutZone;
+        copy .strutOrbit = this .strutOrbit;
+        copy .strutSense = this .strutSense;
+        copy .isOffset = this .isOffset;
+        copy .panelOrbit = this .panelOrbit;
         return copy;
     }
 
+    /**
+     * Take on the attributes that RenderedModel.resetAttributes() computes, from another
+     * rendered manifestation of the same manifestation.
+     */
+    void copyAttributes( RenderedManifestation from )
+    {
+        this .mShape = from .mShape;
+        this .color = from .color;
+        this .mOrientation = from .mOrientation;
+        this .location = from .location;
+        this .isOffset = from .isOffset;
+        this .strutOrbit = from .strutOrbit;
+        this .strutZone = from .strutZone;
+        this .strutSense = from .strutSense;
+        this .strutLength = from .strutLength;
+        this .panelOrbit = from .panelOrbit;
+        changed();
+    }
+
     public void setStrut( Direction orbit, int zone, int sense, AlgebraicNumber length )
     {
 		this .strutOrbit = orbit;
         this .strutZone = zone;
 		this .strutSense = sense;
         this .strutLength = length;
+        changed();
     }
     
     public int getStrutZone()
@@ -280,6 +321,20 @@ public class RenderedManifestation
 	{
 		return this .strutOrbit;
 	}
+
+	void setPanelOrbit( Direction orbit )
+	{
+		this .panelOrbit = orbit;
+		changed();
+	}
+
+	/**
+	 * @return the orbit of the panel's normal, or null if panels are not colored by orbit
+	 */
+	public Direction getPanelOrbit()
+	{
+		return this .panelOrbit;
+	}
 	
 	void offsetLocation()
 	{
@@ -287,6 +342,7 @@ public class RenderedManifestation
 			Strut strut = (Strut) this .mManifestation;
 			this .location = strut .getEnd();
 			this .isOffset = true;
+			changed();
 		}
 	}
 	
@@ -295,6 +351,7 @@ public class RenderedManifestation
 		if ( this .mManifestation != null ) {
 			location = this .mManifestation .getLocation();
 			this .isOffset = false;
+			changed();
 		}
 	}
 }
@@ -1,9 +1,15 @@
 package com.vzome.core.render;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -34,6 +40,15 @@ public class RenderedModel implements ManifestationChanges, Iterable<RenderedMan
 
 	protected final HashSet<RenderedManifestation> mRendered = new HashSet<>();
 
+	// mRendered grouped by orbit and length; maintained only while enabled
+	private final OrbitIndex orbitIndex = new OrbitIndex();
+
+	// changes to mRendered since the last snapshot
+	private final SnapshotTracker snapshots = new SnapshotTracker();
+
+	// the contents of a snapshot, in place of mRendered; null if this is not a snapshot
+	private RenderedSnapshot frozen = null;
+
 	private final AlgebraicField field;
 
     private OrbitSource orbitSource;
@@ -53,6 +68,25 @@ public class RenderedModel implements ManifestationChanges, Iterable<RenderedMan
     	Symmetry getSymmetry();
     	    	
         Axis getAxis( AlgebraicVector vector );
+
+        /**
+         * @return the length of the vector along getAxis( vector ), as for Axis.getLength(), or null if it has no axis.
+         * Implementations may cache this, since it costs an exact division.
+         */
+        default AlgebraicNumber getLength( AlgebraicVector vector )
+        {
+            Axis axis = this .getAxis( vector );
+            return ( axis == null )? null : axis .getLength( vector );
+        }
+
+        /**
+         * @return the length of the vector along its axis, in the units of its orbit, or null if it has no axis
+         */
+        default AlgebraicNumber getLengthInUnits( AlgebraicVector vector )
+        {
+            AlgebraicNumber length = this .getLength( vector );
+            return ( length == null )? null : this .getAxis( vector ) .getOrbit() .getLengthInUnits( length );
+        }
         
         Color getColor( Direction orbit );
 
@@ -141,10 +175,44 @@ public class RenderedModel implements ManifestationChanges, Iterable<RenderedMan
     @Override
 	public void manifestationAdded( Manifestation m )
 	{
+	    RenderedManifestation rm = render( m );
+	    if ( rm == null )
+	        return;
+	    if ( mainListener != null )
+    	    mainListener .manifestationAdded( rm );
+        for (RenderingChanges listener : mListeners) {
+            listener .manifestationAdded( rm );
+        }
+	}
+
+    /**
+     * Render a whole batch, and pass it on to the listeners as one batch.
+     */
+    @Override
+    public void manifestationsAdded( Collection<Manifestation> added )
+    {
+        List<RenderedManifestation> rendered = new ArrayList<>( added .size() );
+        for ( Manifestation m : added ) {
+            RenderedManifestation rm = render( m );
+            if ( rm != null )
+                rendered .add( rm );
+        }
+        if ( rendered .isEmpty() )
+            return;
+        if ( mainListener != null )
+            mainListener .manifestationsAdded( rendered );
+        for (RenderingChanges listener : mListeners) {
+            listener .manifestationsAdded( rendered );
+        }
+    }
+
+    // returns null if there is nothing to tell the listeners
+    private RenderedManifestation render( Manifestation m )
+    {
 		if ( ! this .enabled )
 		{
 			m .setRenderedObject( new RenderedManifestation( m ) );
-			return;
+			return null;
 		}
 		
 	    RenderedManifestation rm = new RenderedManifestation( m );
@@ -153,16 +221,14 @@ public class RenderedModel implements ManifestationChanges, Iterable<RenderedMan
 	    resetAttributes( rm, false );
         Polyhedron poly = rm .getShape();
 	    if ( poly == null )
-	        return; // no direction for this strut
+	        return null; // no direction for this strut
 	    m .setRenderedObject( rm );
         
-	    mRendered .add( rm );
-	    if ( mainListener != null )
-    	    mainListener .manifestationAdded( rm );
-        for (RenderingChanges listener : mListeners) {
-            listener .manifestationAdded( rm );
-        }
-	}
+	    if ( mRendered .add( rm ) )
+	        snapshots .added( rm );
+	    orbitIndex .add( rm );
+	    return rm;
+    }
 	
     @Override
 	public void manifestationRemoved( Manifestation m )
@@ -181,10 +247,39 @@ public class RenderedModel implements ManifestationChanges, Iterable<RenderedMan
         }
 	    if ( mainListener != null )
             mainListener .manifestationRemoved( rendered );
+	    unrender( rendered );
+	}
+
+    @Override
+    public void manifestationsRemoved( Collection<Manifestation> removed )
+    {
+        List<RenderedManifestation> rendered = new ArrayList<>( removed .size() );
+        for ( Manifestation m : removed ) {
+            if ( ! this .enabled )
+                m .setRenderedObject( null );
+            else if ( m .getRenderedObject() != null )
+                rendered .add( m .getRenderedObject() );
+        }
+        if ( rendered .isEmpty() )
+            return;
+        // as for one manifestation, listeners hear before anything is removed
+        for (RenderingChanges listener : mListeners) {
+            listener .manifestationsRemoved( rendered );
+        }
+        if ( mainListener != null )
+            mainListener .manifestationsRemoved( rendered );
+        for ( RenderedManifestation rm : rendered )
+            unrender( rm );
+    }
+
+    private void unrender( RenderedManifestation rendered )
+    {
 	    if ( ! mRendered .remove( rendered ) )
 	        throw new IllegalStateException( "unable to remove RenderedManifestation" );
-        m .setRenderedObject( null );
-	}
+	    snapshots .removed( rendered );
+	    orbitIndex .remove( rendered );
+        rendered .getManifestation() .setRenderedObject( null );
+    }
 	            
 
 	public void setManifestationGlow( Manifestation m, boolean on )
@@ -231,7 +326,7 @@ public class RenderedModel implements ManifestationChanges, Iterable<RenderedMan
     @Override
 	public Iterator<RenderedManifestation> iterator()
 	{
-	    return mRendered .iterator();
+	    return ( this .frozen != null )? this .frozen .iterator() : mRendered .iterator();
 	}
 
     /**
@@ -240,7 +335,7 @@ public class RenderedModel implements ManifestationChanges, Iterable<RenderedMan
     @Deprecated
 	public Iterator<RenderedManifestation> getRenderedManifestations()
 	{
-	    return mRendered .iterator();
+	    return iterator();
 	}
 
 	public OrbitSource getOrbitSource()
@@ -290,52 +385,124 @@ public class RenderedModel implements ManifestationChanges, Iterable<RenderedMan
             }
             mRendered .addAll( newSet );
         } else {
-//            int yieldFreq = mRendered .size() / 20;
-            int yieldCount = 0;
-            HashSet<RenderedManifestation> newSet = new HashSet<>();
-            for ( Iterator<RenderedManifestation> rms = mRendered .iterator(); rms .hasNext(); ) {
-                yieldCount = (++yieldCount) % 20;
-                if ( yieldCount == 0 )
-                    Thread .yield();
-                RenderedManifestation rendered = rms .next();
-                rms .remove();
-                Manifestation m = rendered .getManifestation();
-                if ( m .isHidden() )
+            List<RenderedManifestation> all = new ArrayList<>( mRendered );
+            // phase one: compute the new attributes in parallel, changing no rendered manifestation
+            RenderedManifestation[] updated = new RenderedManifestation[ all .size() ];
+            ForkJoinPool .commonPool() .invoke( new ResetAttributes( all, updated, 0, all .size() ) );
+
+            // phase two: apply them, and tell the listeners in batches
+            List<RenderedManifestation> removed = new ArrayList<>(), added = new ArrayList<>();
+            for ( RenderedManifestation rendered : all ) {
+                if ( ! rendered .getManifestation() .isHidden() && rendered .getShape() != null )
+                    removed .add( rendered );
+            }
+            if ( ! removed .isEmpty() ) {
+                if ( mainListener != null )
+                    mainListener .manifestationsRemoved( removed );
+                for (RenderingChanges listener : mListeners) {
+                    listener .manifestationsRemoved( removed );
+                }
+            }
+            mRendered .clear();
+            for ( int i = 0; i < updated .length; i++ ) {
+                RenderedManifestation rendered = all .get( i );
+                orbitIndex .remove( rendered );
+                if ( updated[ i ] == null ) {
+                    snapshots .removed( rendered ); // hidden
                     continue;
-                if ( rendered .getShape() != null )
-                {
-                    if ( mainListener != null ) {
-                        mainListener .manifestationRemoved( rendered );
-                    }
-                    for (RenderingChanges listener : mListeners) {
-                        listener .manifestationRemoved( rendered );
-                    }
                 }
-              
-                resetAttributes( rendered, false );
-                newSet .add( rendered );  // must re-hash, since shape has changed
-
-                float glow = rendered .getGlow();
+                rendered .copyAttributes( updated[ i ] );
+                mRendered .add( rendered );  // must re-hash, since shape has changed
+                orbitIndex .add( rendered );
                 if ( rendered .getShape() != null )
-                {
+                    added .add( rendered );
+            }
+            if ( ! added .isEmpty() ) {
+                if ( mainListener != null )
+                    mainListener .manifestationsAdded( added );
+                for (RenderingChanges listener : mListeners) {
+                    listener .manifestationsAdded( added );
+                }
+            }
+            for ( RenderedManifestation rendered : added ) {
+                if ( rendered .getGlow() != 0f ) {
                     if ( mainListener != null )
-                    {
-                        mainListener .manifestationAdded( rendered );
-                        if ( glow != 0f )
-                            mainListener .glowChanged( rendered );
-                    }
+                        mainListener .glowChanged( rendered );
                     for (RenderingChanges listener : mListeners) {
-                        listener .manifestationAdded( rendered );
-                        if ( glow != 0f )
-                            listener .glowChanged( rendered );
+                        listener .glowChanged( rendered );
                     }
                 }
             }
-            mRendered .addAll( newSet );
         }
 	    
 	}
 
+    /**
+     * Phase one of setOrbitSource(): run resetAttributes() on a fresh copy of each visible rendered manifestation,
+     * leaving the originals alone, for a range of the list, splitting it for the fork/join pool.
+     * The orbit source is not thread-safe, so calls to it are serialized; see getAxis(), getLength() and getOrbitColor().
+     * Each task also sets the zone vectors of its own manifestations, which nothing else touches meanwhile.
+     */
+    private final class ResetAttributes extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private static final int THRESHOLD = 256;
+
+        private final List<RenderedManifestation> all;
+        private final RenderedManifestation[] updated;
+        private final int start, end;
+
+        ResetAttributes( List<RenderedManifestation> all, RenderedManifestation[] updated, int start, int end )
+        {
+            this .all = all;
+            this .updated = updated;
+            this .start = start;
+            this .end = end;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if ( end - start > THRESHOLD ) {
+                int middle = ( start + end ) >>> 1;
+                invokeAll( new ResetAttributes( all, updated, start, middle ), new ResetAttributes( all, updated, middle, end ) );
+                return;
+            }
+            for ( int i = start; i < end; i++ ) {
+                RenderedManifestation rendered = all .get( i );
+                Manifestation m = rendered .getManifestation();
+                if ( m .isHidden() )
+                    continue;
+                RenderedManifestation copy = new RenderedManifestation( m );
+                copy .copyAttributes( rendered );
+                resetAttributes( copy, false );
+                updated[ i ] = copy;
+            }
+        }
+    }
+
+    private Axis getAxis( AlgebraicVector vector )
+    {
+        synchronized ( this .orbitSource ) {
+            return this .orbitSource .getAxis( vector );
+        }
+    }
+
+    private AlgebraicNumber getLength( AlgebraicVector vector )
+    {
+        synchronized ( this .orbitSource ) {
+            return this .orbitSource .getLength( vector );
+        }
+    }
+
+    private Color getOrbitColor( Direction orbit )
+    {
+        synchronized ( this .orbitSource ) {
+            return this .orbitSource .getColor( orbit );
+        }
+    }
+
 
     private void resetAttributes( RenderedManifestation rm, boolean justShape )
 	{
@@ -362,9 +529,10 @@ public class RenderedModel implements ManifestationChanges, Iterable<RenderedMan
 
             rm .setOrientation( field .identityMatrix( 3 ) );
             rm .setColor( Color.WHITE );
+            rm .setPanelOrbit( null );
 
             try {
-                Axis axis = orbitSource .getAxis( normal );
+                Axis axis = getAxis( normal );
                 if ( axis == null )
                     return;
 
@@ -372,8 +540,9 @@ public class RenderedModel implements ManifestationChanges, Iterable<RenderedMan
                 panel .setZoneVector( axis .normal() );
         		
                 Direction orbit = axis .getDirection();
+                rm .setPanelOrbit( orbit );
 
-                Color color = orbitSource .getColor( orbit ) .getPastel();
+                Color color = getOrbitColor( orbit ) .getPastel();
                 rm .setColor( color );
             } catch ( IllegalStateException e ) {
             	if ( logger .isLoggable( Level.WARNING ) )
@@ -391,7 +560,7 @@ public class RenderedModel implements ManifestationChanges, Iterable<RenderedMan
 		AlgebraicVector offset = strut .getOffset();
 		if ( offset .isOrigin() )
 		    return; // should catch this earlier
-		Axis axis = orbitSource .getAxis( offset );
+		Axis axis = getAxis( offset );
 		if ( axis == null )
 			return; // this should only happen when using the bare Symmetry-based OrbitSource
 		
@@ -402,7 +571,7 @@ public class RenderedModel implements ManifestationChanges, Iterable<RenderedMan
 		
 		// TODO remove this length computation... see the comment on AbstractShapes.getStrutShape()
 		
-		AlgebraicNumber len = axis .getLength( offset );
+		AlgebraicNumber len = getLength( offset );
 		
 		Polyhedron prototypeLengthShape = mPolyhedra .getStrutShape( orbit, len );
 		rm .setShape( prototypeLengthShape );
@@ -444,7 +613,7 @@ public class RenderedModel implements ManifestationChanges, Iterable<RenderedMan
 		
 		Color color = mPolyhedra .getColor( orbit );
 		if ( color == null )
-			color = orbitSource .getColor( orbit );
+			color = getOrbitColor( orbit );
 		rm .setColor( color );
 	}
 
@@ -455,7 +624,7 @@ public class RenderedModel implements ManifestationChanges, Iterable<RenderedMan
 		    return;
 		Color color = mPolyhedra .getColor( null );
 		if ( color == null )
-			color = orbitSource .getColor( null );
+			color = getOrbitColor( null );
 		rm .setColor( color );
 		rm .setOrientation( field .identityMatrix( 3 ) );
 	}
@@ -491,51 +660,145 @@ public class RenderedModel implements ManifestationChanges, Iterable<RenderedMan
 			this .setManifestationColor( m, color );
     }
 
+    @Override
+    public void colorsChanged( Map<Manifestation, Color> colors )
+    {
+        if ( ! this .enabled )
+            return;
+        List<RenderedManifestation> changed = new ArrayList<>( colors .size() );
+        for ( Map.Entry<Manifestation, Color> entry : colors .entrySet() ) {
+            RenderedManifestation rendered = entry .getKey() .getRenderedObject();
+            if ( rendered == null )
+                continue; // could not find a shape for m, probably
+            rendered .setColor( entry .getValue() );
+            changed .add( rendered );
+        }
+        if ( changed .isEmpty() )
+            return;
+        if ( mainListener != null )
+            mainListener .colorsChanged( changed );
+        for (RenderingChanges listener : mListeners) {
+            listener .colorsChanged( changed );
+        }
+    }
+
+    /**
+     * Find the struts rendered in an orbit, without looking up any axes.
+     * @param source the orbit source the caller's orbit belongs to
+     * @param length the strut length in the orbit, or null for any length
+     * @return the manifestations rendered as struts of that orbit and length, in model order,
+     *  or null if this model is not rendering with that orbit source, so the caller must look for itself
+     */
+    public List<Manifestation> getSimilarStruts( OrbitSource source, Direction orbit, AlgebraicNumber length )
+    {
+        if ( ! this .enabled || source != this .orbitSource )
+            return null;
+        return orbitIndex .getStruts( orbit, length );
+    }
+
+    /**
+     * Find the panels rendered with normals in an orbit, without looking up any axes.
+     * @return the manifestations rendered as panels with normals in the orbit, in model order,
+     *  or null if this model is not rendering with that orbit source, or not coloring panels by orbit
+     */
+    public List<Manifestation> getSimilarPanels( OrbitSource source, Direction orbit )
+    {
+        if ( ! this .enabled || ! this .colorPanels || source != this .orbitSource )
+            return null;
+        return orbitIndex .getPanels( orbit );
+    }
+
+    /**
+     * @return the number of rendered struts for each orbit and length,
+     *  or null if this model is not rendering, and so has no orbits
+     */
+    public Map<Direction, Map<AlgebraicNumber, Integer>> getStrutCounts()
+    {
+        return this .enabled? orbitIndex .getStrutCounts() : null;
+    }
+
+    /**
+     * @return the number of rendered connectors, or -1 if this model is not rendering
+     */
+    public int getConnectorCount()
+    {
+        return this .enabled? orbitIndex .getConnectorCount() : -1;
+    }
+
+    /**
+     * Freeze the current rendering, as for a lesson page.
+     * Snapshots share structure: each one copies only what has changed since the previous snapshot
+     * of this model, and shares everything else with it.
+     * The frozen manifestations must not be modified.
+     */
     public RenderedModel snapshot()
     {
         RenderedModel snapshot = new RenderedModel( this .field, false );
-        for (RenderedManifestation rm : mRendered) {
-            RenderedManifestation copy = rm .copy();
-            copy .setModel( this );
-            snapshot .mRendered .add( copy );
-        }
+        snapshot .frozen = ( this .frozen != null )? this .frozen : this .snapshots .snapshot( this );
         return snapshot;
     }
+
+    void renderedChanged( RenderedManifestation rm )
+    {
+        this .snapshots .changed( rm );
+    }
     
+    /**
+     * Tell the listener how to get from one rendering to another, as when switching lesson pages.
+     * This is a hash join: the manifestations of "to" are indexed once, and each of "from" is looked up,
+     * so the cost is linear in the size of the two models.
+     * Between two snapshots of the same model, the manifestations they share are not even visited,
+     * since they cannot differ; so no events are reported for them, not even manifestationSwitched().
+     * Removals are reported first, then additions, then manifestations present in both.
+     */
     public static void renderChange( RenderedModel from, RenderedModel to, RenderingChanges changes )
     {
-        // TODO: Does clone() perform any better than new HashSet(), or is there any other reason to keep it?
-//        Set<RenderedManifestation> toRemove = (Set<RenderedManifestation>) from .mRendered .clone();
-        HashSet<RenderedManifestation> toRemove = new HashSet<>(from.mRendered);
-        toRemove .removeAll( to .mRendered );
-        for ( RenderedManifestation rm : toRemove ) {
-            changes .manifestationRemoved( rm );
+        Collection<RenderedManifestation> fromRms = from .mRendered, toRms = to .mRendered;
+        if ( from .frozen != null && to .frozen != null ) {
+            fromRms = new ArrayList<>();
+            toRms = new ArrayList<>();
+            from .frozen .collectDifferences( to .frozen, fromRms, toRms );
         }
-        // TODO: Does clone() perform any better than new HashSet(), or is there any other reason to keep it?
-//        Set<RenderedManifestation> toAdd = (Set<RenderedManifestation>) to .mRendered .clone();
-        HashSet<RenderedManifestation> toAdd = new HashSet<>(to.mRendered);
-        toAdd .removeAll( from .mRendered );
-        for ( RenderedManifestation rm : toAdd ) {
-            changes .manifestationAdded( rm );
+        else if ( from .frozen != null || to .frozen != null ) {
+            fromRms = toList( from );
+            toRms = toList( to );
         }
-        for ( RenderedManifestation fromRm : from .mRendered ) {
-            for ( RenderedManifestation toRm : to .mRendered ) {
-                if ( fromRm .equals( toRm ) )
-                {
-                    changes .manifestationSwitched( fromRm, toRm );
-                    if ( Float.floatToIntBits( fromRm .getGlow() ) != Float .floatToIntBits( toRm .getGlow() ) )
-                        changes .glowChanged( toRm );
-                    Color fromColor = fromRm .getColor();
-                    Color toColor = toRm .getColor();
-                    if ( fromColor == null && toColor == null )
-                    	continue;
-                    if ( ( fromColor == null && toColor != null )
-                      || ( fromColor != null && toColor == null )
-                      || ! fromColor .equals( toColor ) )
-                        changes .colorChanged( toRm );
-                }
+        // each unmatched manifestation of "to", by itself, to find the equal one from "from"
+        Map<RenderedManifestation, RenderedManifestation> unmatched = new HashMap<>( 2 * toRms .size() );
+        for ( RenderedManifestation toRm : toRms )
+            unmatched .put( toRm, toRm );
+        List<RenderedManifestation> removed = new ArrayList<>();
+        // pairs of matched manifestations, from then to
+        List<RenderedManifestation> matched = new ArrayList<>();
+        for ( RenderedManifestation fromRm : fromRms ) {
+            RenderedManifestation toRm = unmatched .remove( fromRm );
+            if ( toRm == null )
+                removed .add( fromRm );
+            else {
+                matched .add( fromRm );
+                matched .add( toRm );
             }
         }
+        if ( ! removed .isEmpty() )
+            changes .manifestationsRemoved( removed );
+        if ( ! unmatched .isEmpty() )
+            changes .manifestationsAdded( new ArrayList<>( unmatched .values() ) );
+        for ( int i = 0; i < matched .size(); i += 2 ) {
+            RenderedManifestation fromRm = matched .get( i ), toRm = matched .get( i + 1 );
+            changes .manifestationSwitched( fromRm, toRm );
+            if ( Float.floatToIntBits( fromRm .getGlow() ) != Float .floatToIntBits( toRm .getGlow() ) )
+                changes .glowChanged( toRm );
+            if ( ! Objects .equals( fromRm .getColor(), toRm .getColor() ) )
+                changes .colorChanged( toRm );
+        }
+    }
+
+    private static List<RenderedManifestation> toList( RenderedModel model )
+    {
+        List<RenderedManifestation> result = new ArrayList<>();
+        for ( RenderedManifestation rm : model )
+            result .add( rm );
+        return result;
     }
 
 	public RealVector renderVector( AlgebraicVector av )
@@ -0,0 +1,110 @@
+package com.vzome.core.render;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The frozen contents of a RenderedModel snapshot, as for a lesson page.
+ *
+ * This is a chunked copy-on-write array: each rendered manifestation of the live model
+ * has a slot (see SnapshotTracker), and a snapshot holds a frozen copy for each occupied slot,
+ * in chunks of CHUNK slots.  A new snapshot copies only the chunks with slots that changed since
+ * the previous snapshot, and shares the rest, chunks and copies alike, with the previous one.
+ * Nothing here is ever modified once built, so sharing is safe.
+ *
+ * Two snapshots that share a chunk agree on every manifestation in it, so diffs skip shared chunks.
+ */
+final class RenderedSnapshot implements Iterable<RenderedManifestation>
+{
+    static final int SHIFT = 6, CHUNK = 1 << SHIFT;
+
+    static final RenderedSnapshot EMPTY = new RenderedSnapshot( new RenderedManifestation[ 0 ][], 0 );
+
+    // null chunks and null entries are empty slots
+    private final RenderedManifestation[][] chunks;
+
+    private final int size;
+
+    RenderedSnapshot( RenderedManifestation[][] chunks, int size )
+    {
+        this .chunks = chunks;
+        this .size = size;
+    }
+
+    int size()
+    {
+        return this .size;
+    }
+
+    RenderedManifestation[] getChunk( int i )
+    {
+        return ( i < chunks .length )? chunks[ i ] : null;
+    }
+
+    /**
+     * Collect the manifestations of this snapshot and another, skipping the chunks they share.
+     */
+    void collectDifferences( RenderedSnapshot other, Collection<RenderedManifestation> mine, Collection<RenderedManifestation> theirs )
+    {
+        int count = Math .max( chunks .length, other .chunks .length );
+        for ( int i = 0; i < count; i++ ) {
+            RenderedManifestation[] chunk = getChunk( i ), otherChunk = other .getChunk( i );
+            if ( chunk == otherChunk )
+                continue;
+            collect( chunk, mine );
+            collect( otherChunk, theirs );
+        }
+    }
+
+    private static void collect( RenderedManifestation[] chunk, Collection<RenderedManifestation> result )
+    {
+        if ( chunk == null )
+            return;
+        for ( RenderedManifestation rm : chunk ) {
+            if ( rm != null )
+                result .add( rm );
+        }
+    }
+
+    @Override
+    public Iterator<RenderedManifestation> iterator()
+    {
+        return new Iterator<RenderedManifestation>()
+        {
+            private int next = advance( 0 );
+
+            // the first occupied slot at or after from
+            private int advance( int from )
+            {
+                int limit = chunks .length << SHIFT;
+                while ( from < limit ) {
+                    RenderedManifestation[] chunk = chunks[ from >> SHIFT ];
+                    if ( chunk == null )
+                        from = ( ( from >> SHIFT ) + 1 ) << SHIFT;
+                    else if ( chunk[ from & ( CHUNK - 1 ) ] == null )
+                        ++from;
+                    else
+                        break;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext()
+            {
+                return next < chunks .length << SHIFT;
+            }
+
+            @Override
+            public RenderedManifestation next()
+            {
+                if ( ! hasNext() )
+                    throw new NoSuchElementException();
+                RenderedManifestation result = chunks[ next >> SHIFT ][ next & ( CHUNK - 1 ) ];
+                next = advance( next + 1 );
+                return result;
+            }
+        };
+    }
+}
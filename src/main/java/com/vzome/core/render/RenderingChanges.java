@@ -3,6 +3,7 @@
  */
 package com.vzome.core.render;
 
+import java.util.Collection;
 
 public interface RenderingChanges {
     
@@ -24,6 +25,28 @@ public interface RenderingChanges {
 
     void shapeChanged( RenderedManifestation manifestation );
 
+    /**
+     * The changes of one batch, such as one edit, delivered together,
+     * so a renderer can update its scene once rather than once per manifestation.
+     */
+    default void manifestationsAdded( Collection<RenderedManifestation> added )
+    {
+        for ( RenderedManifestation rm : added )
+            manifestationAdded( rm );
+    }
+
+    default void manifestationsRemoved( Collection<RenderedManifestation> removed )
+    {
+        for ( RenderedManifestation rm : removed )
+            manifestationRemoved( rm );
+    }
+
+    default void colorsChanged( Collection<RenderedManifestation> changed )
+    {
+        for ( RenderedManifestation rm : changed )
+            colorChanged( rm );
+    }
+
     /**
     * @deprecated As of 7/20/2016: Use controller property "showFrameLabels" instead.
     */
@@ -0,0 +1,96 @@
+package com.vzome.core.render;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Tracks the changes to a live RenderedModel since its last snapshot, so that the next
+ * snapshot can be built in time and memory proportional to those changes (see RenderedSnapshot).
+ *
+ * Each rendered manifestation gets a slot while it is in the model, and slots are recycled.
+ * A slot is dirty when its manifestation is added, removed, or changes any attribute that
+ * a snapshot copies; RenderedManifestation reports the latter through RenderedModel.
+ *
+ * Like RenderedModel, this is not thread-safe.
+ */
+final class SnapshotTracker
+{
+    private RenderedManifestation[] live = new RenderedManifestation[ RenderedSnapshot.CHUNK ];
+
+    private int limit = 0; // slots ever used
+
+    private int[] free = new int[ 16 ];
+
+    private int numFree = 0;
+
+    private final BitSet dirty = new BitSet();
+
+    private RenderedSnapshot last = RenderedSnapshot.EMPTY;
+
+    void added( RenderedManifestation rm )
+    {
+        int slot;
+        if ( numFree > 0 )
+            slot = free[ --numFree ];
+        else {
+            slot = limit++;
+            if ( slot == live .length )
+                live = Arrays .copyOf( live, 2 * live .length );
+        }
+        live[ slot ] = rm;
+        rm .snapshotSlot = slot;
+        dirty .set( slot );
+    }
+
+    void removed( RenderedManifestation rm )
+    {
+        int slot = rm .snapshotSlot;
+        if ( slot < 0 || live[ slot ] != rm )
+            return; // not tracked
+        live[ slot ] = null;
+        rm .snapshotSlot = -1;
+        if ( numFree == free .length )
+            free = Arrays .copyOf( free, 2 * free .length );
+        free[ numFree++ ] = slot;
+        dirty .set( slot );
+    }
+
+    void changed( RenderedManifestation rm )
+    {
+        dirty .set( rm .snapshotSlot );
+    }
+
+    /**
+     * @param model the live model, which frozen copies refer to for their embedding
+     */
+    RenderedSnapshot snapshot( RenderedModel model )
+    {
+        int chunkCount = ( limit + RenderedSnapshot.CHUNK - 1 ) >> RenderedSnapshot.SHIFT;
+        RenderedManifestation[][] chunks = new RenderedManifestation[ chunkCount ][];
+        for ( int i = 0; i < chunkCount; i++ )
+            chunks[ i ] = last .getChunk( i );
+        int size = last .size();
+        for ( int slot = dirty .nextSetBit( 0 ); slot >= 0; slot = dirty .nextSetBit( slot + 1 ) ) {
+            int c = slot >> RenderedSnapshot.SHIFT;
+            RenderedManifestation[] chunk = chunks[ c ];
+            // copy each dirty chunk once, on its first dirty slot
+            if ( chunk == last .getChunk( c ) )
+                chunks[ c ] = chunk = ( chunk == null )? new RenderedManifestation[ RenderedSnapshot.CHUNK ] : chunk .clone();
+            int i = slot & ( RenderedSnapshot.CHUNK - 1 );
+            if ( chunk[ i ] != null )
+                --size;
+            RenderedManifestation rm = live[ slot ];
+            if ( rm == null )
+                chunk[ i ] = null;
+            else {
+                RenderedManifestation copy = rm .copy();
+                copy .setModel( model );
+                chunk[ i ] = copy;
+                ++size;
+            }
+        }
+        dirty .clear();
+        last = new RenderedSnapshot( chunks, size );
+        return last;
+    }
+}
@@ -1,6 +1,7 @@
 
 package com.vzome.core.render;
 
+import java.util.Collection;
 
 public class TransparentRendering implements RenderingChanges
 {
@@ -25,12 +26,28 @@ public class TransparentRendering implements RenderingChanges
         mRealOne .manifestationAdded( manifestation );
     }
 
+    @Override
+    public void manifestationsAdded( Collection<RenderedManifestation> added )
+    {
+        for ( RenderedManifestation manifestation : added ) {
+            manifestation .setTransparency( 0.99f );
+            manifestation .setPickable( false );
+        }
+        mRealOne .manifestationsAdded( added );
+    }
+
     @Override
     public void manifestationRemoved( RenderedManifestation manifestation )
     {
         mRealOne .manifestationRemoved( manifestation );
     }
 
+    @Override
+    public void manifestationsRemoved( Collection<RenderedManifestation> removed )
+    {
+        mRealOne .manifestationsRemoved( removed );
+    }
+
     @Override
     public void glowChanged( RenderedManifestation manifestation )
     {
@@ -43,6 +60,12 @@ public class TransparentRendering implements RenderingChanges
         mRealOne .colorChanged( manifestation );
     }
 
+    @Override
+    public void colorsChanged( Collection<RenderedManifestation> changed )
+    {
+        mRealOne .colorsChanged( changed );
+    }
+
     @Override
     public void locationChanged( RenderedManifestation manifestation )
     {
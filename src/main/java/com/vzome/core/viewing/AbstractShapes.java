@@ -3,8 +3,9 @@
  */
 package com.vzome.core.viewing;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.vzome.core.algebra.AlgebraicNumber;
 import com.vzome.core.math.Polyhedron;
@@ -16,11 +17,17 @@ import com.vzome.core.render.Color;
 import com.vzome.core.render.Shapes;
 
 
+/**
+ * The shape caches here can be used by many threads at once, since Shapes are shared
+ * by all the DocumentModels of a FieldApplication.  Lookups do not lock;
+ * a missing strut shape is built while holding the lock for its orbit, so each is built once.
+ */
 public abstract class AbstractShapes implements Shapes
 {
-	private final Map<Direction, Map<AlgebraicNumber, Polyhedron> > strutShapesByLengthAndOrbit = new HashMap<>();
+	// Optional, since a strut geometry may have no shape for a length, and ConcurrentHashMap cannot hold null
+	private final Map<Direction, Map<AlgebraicNumber, Optional<Polyhedron>> > strutShapesByLengthAndOrbit = new ConcurrentHashMap<>();
 
-    private final Map<Direction, StrutGeometry> strutGeometriesByOrbit = new HashMap<>();
+    private final Map<Direction, StrutGeometry> strutGeometriesByOrbit = new ConcurrentHashMap<>();
 
     protected final String mPkgName;
 
@@ -28,7 +35,7 @@ public abstract class AbstractShapes implements Shapes
     
     protected final Symmetry mSymmetry;
 
-    protected Polyhedron mConnectorGeometry;
+    protected volatile Polyhedron mConnectorGeometry;
 
     public AbstractShapes( String pkgName, String name, String alias, Symmetry symm )
     {
@@ -82,11 +89,18 @@ public abstract class AbstractShapes implements Shapes
     @Override
     public Polyhedron getConnectorShape()
     {
-        if ( mConnectorGeometry == null ) {
-            mConnectorGeometry = buildConnectorShape( mPkgName );
-            mConnectorGeometry .setName( "ball" );
+        Polyhedron result = mConnectorGeometry;
+        if ( result == null ) {
+            synchronized ( this ) {
+                result = mConnectorGeometry;
+                if ( result == null ) {
+                    result = buildConnectorShape( mPkgName );
+                    result .setName( "ball" );
+                    mConnectorGeometry = result;
+                }
+            }
         }
-        return mConnectorGeometry;
+        return result;
     }
     
     protected abstract Polyhedron buildConnectorShape( String pkgName );
@@ -121,31 +135,29 @@ public abstract class AbstractShapes implements Shapes
     @Override
     public Polyhedron getStrutShape( Direction orbit, AlgebraicNumber length )
     {
-        Map<AlgebraicNumber, Polyhedron> strutShapesByLength = strutShapesByLengthAndOrbit.get( orbit );
-        if ( strutShapesByLength == null ) {
-            strutShapesByLength = new HashMap<>();
-            strutShapesByLengthAndOrbit.put( orbit, strutShapesByLength );
-        }
+        Map<AlgebraicNumber, Optional<Polyhedron>> strutShapesByLength = strutShapesByLengthAndOrbit .computeIfAbsent( orbit, o -> new ConcurrentHashMap<>() );
 //        int[] normSquared = mSymmetry .getField() .dot( offset, offset );
-        Polyhedron lengthShape = strutShapesByLength.get( length );
-        if ( lengthShape == null ) {
-            StrutGeometry orbitStrutGeometry = strutGeometriesByOrbit.get( orbit );
-
-            if ( orbitStrutGeometry == null ) {
-                orbitStrutGeometry = createStrutGeometry( orbit );
-                strutGeometriesByOrbit.put( orbit, orbitStrutGeometry );
-            }
-
-            lengthShape = orbitStrutGeometry .getStrutPolyhedron( length );
-            strutShapesByLength.put( length, lengthShape );
+        Optional<Polyhedron> cached = strutShapesByLength.get( length );
+        if ( cached != null )
+            return cached .orElse( null );
+        // the lock keeps the shape names, which count the lengths, consistent
+        synchronized ( strutShapesByLength ) {
+            cached = strutShapesByLength.get( length );
+            if ( cached != null )
+                return cached .orElse( null );
+            StrutGeometry orbitStrutGeometry = strutGeometriesByOrbit .computeIfAbsent( orbit, this::createStrutGeometry );
+
+            Polyhedron lengthShape = orbitStrutGeometry .getStrutPolyhedron( length );
             if ( lengthShape != null ) {
-                lengthShape .setName( orbit .getName() + strutShapesByLength .size() );
+                lengthShape .setName( orbit .getName() + ( strutShapesByLength .size() + 1 ) );
                 lengthShape .setOrbit( orbit );
                 // reproduce the calculation in LengthModel .setActualLength()                
                 lengthShape .setLength( orbit .getLengthInUnits( length ) );
             }
+            // only publish the shape once it is complete
+            strutShapesByLength.put( length, Optional .ofNullable( lengthShape ) );
+            return lengthShape;
         }
-        return lengthShape;
     }
 
     // no changes are ever generated
@@ -44,7 +44,8 @@ public class ExportedVEFShapes extends AbstractShapes
     
     private final AbstractShapes fallback;
     
-    private final Properties colors = new Properties();
+    // loaded on first use, since only the shapes actually rendered need their colors
+    private volatile Properties colors = null;
     
     private static final Logger logger = Logger.getLogger( "com.vzome.core.viewing.shapes" );
         
@@ -68,17 +69,27 @@ public class ExportedVEFShapes extends AbstractShapes
         super( pkgName, name, alias, symm );
         this .prefsFolder = prefsFolder;
         this .fallback = fallback;
+    }
 
-        String colorProps = MODEL_PREFIX + pkgName + "/colors.properties";
-        try {
-            ClassLoader cl = Application.class .getClassLoader();
-            InputStream in = cl .getResourceAsStream( colorProps );
-            if ( in != null )
-            	this .colors .load( in );
-        } catch ( IOException ioe ) {
-        	if ( logger .isLoggable( Level.FINE ) )
-        		logger .fine( "problem with shape color properties: " + colorProps );
+    private Properties getColors()
+    {
+        Properties result = this .colors;
+        if ( result == null ) {
+            // a benign race: concurrent callers load equal properties
+            result = new Properties();
+            String colorProps = MODEL_PREFIX + mPkgName + "/colors.properties";
+            try {
+                ClassLoader cl = Application.class .getClassLoader();
+                InputStream in = cl .getResourceAsStream( colorProps );
+                if ( in != null )
+                	result .load( in );
+            } catch ( IOException ioe ) {
+            	if ( logger .isLoggable( Level.FINE ) )
+            		logger .fine( "problem with shape color properties: " + colorProps );
+            }
+            this .colors = result;
         }
+        return result;
     }
     
     @Override
@@ -149,16 +160,17 @@ public class ExportedVEFShapes extends AbstractShapes
     @Override
     public boolean hasColors()
     {
-    	return ! this .colors .isEmpty();
+    	return ! this .getColors() .isEmpty();
     }
 
     @Override
 	public Color getColor( Direction dir )
     {
-    	if ( this .colors .isEmpty() )
+    	Properties colors = this .getColors();
+    	if ( colors .isEmpty() )
     		return null;
 		String dirName = ( dir == null )? NODE_MODEL : dir .getName();
-		String colorString = this .colors .getProperty( dirName );
+		String colorString = colors .getProperty( dirName );
 		if ( colorString == null )
 			return null;
 		return Colors .parseColor( colorString );
@@ -1,7 +1,15 @@
 package com.vzome.core.algebra;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.*;
 import static junit.framework.TestCase.assertTrue;
@@ -44,4 +52,65 @@ public class AlgebraicFieldTest {
         assertEquals(fields.size(), pass);
 	}    
 
+    @Test
+    public void testMultiplyMatchesReference() {
+        Random random = new Random(7);
+        for(AlgebraicField field : fields) {
+            for(int n = 0; n < 500; n++) {
+                BigRational[] v1 = randomFactors(field, random, n);
+                BigRational[] v2 = randomFactors(field, random, n + 1);
+                BigRational[] expected = field.referenceMultiply(v1, v2);
+                assertTrue(field.getName(), Arrays.equals(expected, field.multiply(v1, v2)));
+            }
+        }
+    }
+
+    @Test
+    public void testConcurrentPowers() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            for(AlgebraicField field : fields) {
+                // a fresh field, so the power tables start empty
+                AlgebraicField fresh = field instanceof SnubDodecField? new SnubDodecField(new PentagonField()) : field.getClass().newInstance();
+                List<Future<AlgebraicNumber[]>> results = new ArrayList<>();
+                for(int t = 0; t < 8; t++) {
+                    final int start = t;
+                    results.add(pool.submit(() -> {
+                        AlgebraicNumber[] powers = new AlgebraicNumber[41];
+                        for(int i = 0; i <= 40; i++) {
+                            int power = ((i + start * 5) % 41) - 20;
+                            powers[power + 20] = fresh.createPower(power);
+                        }
+                        return powers;
+                    }));
+                }
+                for(Future<AlgebraicNumber[]> result : results) {
+                    AlgebraicNumber[] powers = result.get();
+                    for(int power = -20; power <= 20; power++) {
+                        assertEquals(field.getName(), field.createPower(power), powers[power + 20]);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // some zeros, some small, and some too large for a long
+    private static BigRational[] randomFactors(AlgebraicField field, Random random, int n) {
+        BigRational[] factors = new BigRational[field.getOrder()];
+        for(int i = 0; i < factors.length; i++) {
+            switch((n + i) % 4) {
+                case 0:
+                    factors[i] = BigRational.ZERO;
+                    break;
+                case 3:
+                    factors[i] = new BigRational(new BigInteger(80, random).subtract(BigInteger.ONE.shiftLeft(79)), new BigInteger(70, random).add(BigInteger.ONE));
+                    break;
+                default:
+                    factors[i] = new BigRational(random.nextInt(200) - 100, 1 + random.nextInt(12));
+            }
+        }
+        return factors;
+    }
 }
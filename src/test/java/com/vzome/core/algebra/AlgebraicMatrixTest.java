@@ -0,0 +1,75 @@
+package com.vzome.core.algebra;
+
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class AlgebraicMatrixTest {
+
+	private static final AlgebraicField[] FIELDS = {
+			new PentagonField(),
+			new RootTwoField(),
+			new RootThreeField(),
+			new HeptagonField(),
+			new SnubDodecField( new PentagonField() )
+	};
+
+	@Test
+	public void testInverse()
+	{
+		Random random = new Random( 11 );
+		for ( AlgebraicField field : FIELDS ) {
+			for ( int dim = 2; dim <= 5; dim++ ) {
+				for ( int trial = 0; trial < 10; trial++ ) {
+					AlgebraicMatrix m = randomMatrix( field, dim, random );
+					AlgebraicMatrix expected = new AlgebraicMatrix( field, dim );
+					Fields .gaussJordanReduction( m .matrix, expected .matrix );
+					AlgebraicMatrix inverse = m .inverse();
+					assertEquals( field .getName() + " " + m, expected, inverse );
+					assertEquals( field .getName() + " " + m, new AlgebraicMatrix( field, dim ), m .times( inverse ) );
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testReciprocalFallback()
+	{
+		Random random = new Random( 5 );
+		for ( AlgebraicField field : FIELDS ) {
+			BigRational[] factors = new BigRational[ field .getOrder() ];
+			for ( int i = 0; i < factors .length; i++ ) {
+				factors[ i ] = new BigRational( new BigInteger( 90, random ) .add( BigInteger.ONE ), new BigInteger( 40, random ) .add( BigInteger.ONE ) );
+			}
+			BigRational[] reciprocal = field .reciprocal( factors );
+			AlgebraicNumber x = new AlgebraicNumber( field, factors );
+			assertEquals( field .getName(), field .one(), x .times( new AlgebraicNumber( field, reciprocal ) ) );
+		}
+	}
+
+	private static AlgebraicMatrix randomMatrix( AlgebraicField field, int dim, Random random )
+	{
+		AlgebraicMatrix m = new AlgebraicMatrix( field, dim );
+		while ( true ) {
+			for ( int i = 0; i < dim; i++ ) {
+				for ( int j = 0; j < dim; j++ ) {
+					int[] terms = new int[ field .getOrder() ];
+					for ( int k = 0; k < terms .length; k++ ) {
+						terms[ k ] = random .nextInt( 7 ) - 3;
+					}
+					m .matrix[ i ][ j ] = field .createAlgebraicNumber( terms ) .times( field .createPower( random .nextInt( 5 ) - 2 ) );
+				}
+			}
+			// zero out the top left sometimes, to force a row exchange
+			if ( random .nextBoolean() )
+				m .matrix[ 0 ][ 0 ] = field .zero();
+			AlgebraicMatrix check = new AlgebraicMatrix( field, dim );
+			Fields .gaussJordanReduction( m .matrix, check .matrix );
+			if ( m .times( check ) .equals( new AlgebraicMatrix( field, dim ) ) )
+				return m;
+		}
+	}
+}
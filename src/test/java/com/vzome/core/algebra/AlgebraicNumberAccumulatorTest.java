@@ -0,0 +1,67 @@
+package com.vzome.core.algebra;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class AlgebraicNumberAccumulatorTest {
+
+	private static final AlgebraicField[] FIELDS = {
+			new PentagonField(),
+			new RootTwoField(),
+			new RootThreeField(),
+			new HeptagonField(),
+			new SnubDodecField( new PentagonField() )
+	};
+
+	@Test
+	public void testMatchesImmutableArithmetic()
+	{
+		for ( AlgebraicField field : FIELDS ) {
+			AlgebraicNumber a = field .createAlgebraicNumber( 3, -2, 5, 7 );
+			AlgebraicNumber b = field .createAlgebraicNumber( -4, 1, 2, -1 );
+			AlgebraicNumber c = field .createPower( 3 ) .dividedBy( field .createRational( 7 ) );
+			AlgebraicNumber expected = a .plus( b .times( c ) ) .minus( c .times( a ) ) .minus( b );
+
+			AlgebraicNumberAccumulator sum = new AlgebraicNumberAccumulator( field );
+			AlgebraicNumber actual = sum .add( a ) .addProduct( b, c ) .subtractProduct( c, a ) .subtract( b ) .toAlgebraicNumber();
+			assertEquals( field .getName(), expected, actual );
+			assertEquals( field .getName(), expected .hashCode(), actual .hashCode() );
+
+			assertTrue( sum .clear() .isZero() );
+			assertTrue( sum .addProduct( a, b ) .subtractProduct( b, a ) .isZero() );
+			assertEquals( field .zero(), sum .toAlgebraicNumber() );
+		}
+	}
+
+	@Test
+	public void testOverflow()
+	{
+		for ( AlgebraicField field : FIELDS ) {
+			AlgebraicNumber big = field .createRational( Integer.MAX_VALUE ) .times( field .createRational( Integer.MAX_VALUE ) );
+			AlgebraicNumber phi = field .createAlgebraicNumber( 1, 1, 1, 0 );
+			AlgebraicNumber expected = big .times( phi ) .plus( big .times( big ) ) .minus( big .times( big ) );
+
+			AlgebraicNumberAccumulator sum = new AlgebraicNumberAccumulator( field );
+			sum .addProduct( big, phi ) .addProduct( big, big ) .subtractProduct( big, big );
+			assertEquals( field .getName(), expected, sum .toAlgebraicNumber() );
+		}
+	}
+
+	@Test
+	public void testVectorAccumulator()
+	{
+		for ( AlgebraicField field : FIELDS ) {
+			AlgebraicVector u = field .basisVector( 3, AlgebraicVector.X ) .plus( field .basisVector( 3, AlgebraicVector.Y ) .scale( field .createPower( 2 ) ) );
+			AlgebraicVector v = field .basisVector( 3, AlgebraicVector.Z ) .minus( field .basisVector( 3, AlgebraicVector.X ) .scale( field .createPower( -1 ) ) );
+			AlgebraicMatrix m = new AlgebraicMatrix( u, v, u .cross( v ) );
+
+			AlgebraicVector expected = u .plus( m .timesColumn( v ) );
+			AlgebraicVector actual = new AlgebraicVectorAccumulator( u ) .addProduct( m, v ) .toAlgebraicVector();
+			assertEquals( field .getName(), expected, actual );
+
+			assertTrue( AlgebraicVectors .areParallel( u, u .scale( field .createPower( 3 ) ) ) );
+			assertFalse( AlgebraicVectors .areParallel( u, v ) );
+		}
+	}
+}
@@ -31,6 +31,129 @@ public class AlgebraicNumberTest extends TestCase
         }
     }
 
+    public void testHashCode()
+    {
+        AlgebraicField field = new PentagonField();
+        AlgebraicNumber phi = field .createPower( 1 );
+        AlgebraicNumber computed = field .createPower( 5 ) .dividedBy( field .createPower( 4 ) );
+        assertNotSame( phi, computed );
+        assertEquals( phi, computed );
+        assertEquals( phi .hashCode(), computed .hashCode() );
+        assertTrue( phi .minus( computed ) .isZero() );
+        assertTrue( phi .dividedBy( computed ) .isOne() );
+    }
+
+    public void testIntegerFormOverflow()
+    {
+        AlgebraicField pentagonField = new PentagonField();
+        final AlgebraicField[] fields = {
+            pentagonField,
+            new RootTwoField(),
+            new RootThreeField(),
+            new HeptagonField(),
+            new SnubDodecField(pentagonField)
+        };
+        for(AlgebraicField field : fields ) {
+            // large enough that the common-denominator numerators overflow a long when squared
+            BigRational[] factors = new BigRational[ field.getOrder() ];
+            for(int i = 0; i < factors.length; i++) {
+                factors[i] = new BigRational( Integer.MAX_VALUE - i, 7 + 2*i );
+            }
+            AlgebraicNumber big = field.createAlgebraicNumber( factors );
+            AlgebraicNumber square = big.times( big );
+            BigRational[] expected = field.multiply( factors, factors );
+            assertTrue( java.util.Arrays.equals( expected, square.getFactors() ) );
+            assertEquals( field.createAlgebraicNumber( expected ), square );
+            assertEquals( big, square.dividedBy( big ) );
+            assertEquals( big.hashCode(), square.dividedBy( big ).hashCode() );
+            assertTrue( square.minus( square ).isZero() );
+            assertEquals( field.evaluateNumber( factors ), big.evaluate() );
+        }
+    }
+
+    public void testReciprocal()
+    {
+        AlgebraicField pentagonField = new PentagonField();
+        final AlgebraicField[] fields = {
+            pentagonField,
+            new RootTwoField(),
+            new RootThreeField(),
+            new HeptagonField(),
+            new SnubDodecField(pentagonField)
+        };
+        java.util.Random random = new java.util.Random( 42 );
+        for(AlgebraicField field : fields ) {
+            for(int n = 0; n < 200; n++ ) {
+                // mostly small values, but some large enough that the adjugate overflows
+                int range = n % 10 == 0 ? Integer.MAX_VALUE : 20;
+                BigRational[] factors = new BigRational[ field.getOrder() ];
+                for(int i = 0; i < factors.length; i++) {
+                    factors[i] = new BigRational( random.nextInt( range ) - range / 2, 1 + random.nextInt( 5 ) );
+                }
+                AlgebraicNumber x = field.createAlgebraicNumber( factors );
+                if ( x.isZero() )
+                    continue;
+                AlgebraicNumber inverse = x.reciprocal();
+                String msg = field.getName() + " " + x;
+                assertTrue( msg, x.times( inverse ).isOne() );
+                assertEquals( msg, field.createAlgebraicNumber( field.reciprocal( x.getFactors() ) ), inverse );
+                assertEquals( msg, x, inverse.reciprocal() );
+                assertSame( msg, inverse, x.reciprocal() ); // cached
+            }
+        }
+    }
+
+    public void testExactSign()
+    {
+        AlgebraicField pentagonField = new PentagonField();
+        final AlgebraicField[] fields = {
+            pentagonField,
+            new RootTwoField(),
+            new RootThreeField(),
+            new HeptagonField(),
+            new SnubDodecField(pentagonField)
+        };
+        // each of these is between -1 and 1, so its powers have ever larger coefficients but tend to zero
+        final AlgebraicNumber[] small = {
+            fields[0].createAlgebraicNumber( -2, 1 ),
+            fields[1].createAlgebraicNumber( -1, 1 ),
+            fields[2].createAlgebraicNumber( -2, 1 ),
+            fields[3].createAlgebraicNumber( -2, 1, 0 ),
+            fields[4].createAlgebraicNumber( -2, 0, 1, 0, 0, 0 )
+        };
+        for(int f = 0; f < fields.length; f++ ) {
+            AlgebraicField field = fields[f];
+            AlgebraicNumber w = small[f];
+            double value = w.evaluate();
+            assertTrue( field.getName(), Math.abs( value ) < 1d );
+            int sign = value > 0d ? 1 : -1;
+            int expected = 1;
+            AlgebraicNumber power = field.one();
+            for(int n = 1; n <= 60; n++ ) {
+                power = power.times( w );
+                expected *= sign;
+                String msg = field.getName() + " " + n;
+                assertEquals( msg, expected, power.signum() );
+                assertEquals( msg, -expected, power.negate().signum() );
+                assertEquals( msg, expected, power.compareTo( field.zero() ) );
+                assertEquals( msg, -expected, field.one().compareTo( field.one().plus( power ) ) );
+                assertEquals( msg, expected > 0, power.isPositive() );
+            }
+            // the field's irrational values are only approximations, but the minimal polynomial's are accurate
+            double[] irrationals = field.getMinimalPolynomial().getIrrationalValues();
+            for(int i = 0; i < field.getOrder(); i++ ) {
+                BigRational[] unit = new BigRational[ field.getOrder() ];
+                for(int k = 0; k < unit.length; k++) {
+                    unit[k] = k == i ? BigRational.ONE : BigRational.ZERO;
+                }
+                assertEquals( field.evaluateNumber( unit ), irrationals[i], 1e-6 );
+            }
+        }
+        // phi^2 == phi + 1, exactly
+        double phi = pentagonField.getMinimalPolynomial().getIrrationalValues()[1];
+        assertEquals( phi * phi, phi + 1d, Math.ulp( 4d ) );
+    }
+
     public void testZeroPower()
     {
         AlgebraicField pentagonField = new PentagonField();
@@ -0,0 +1,112 @@
+package com.vzome.core.algebra;
+
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+
+import org.junit.Test;
+
+public class BigRationalTest {
+
+	private static final BigInteger MAX = BigInteger .valueOf( Long.MAX_VALUE );
+
+	@Test
+	public void testMultiplyOverflow()
+	{
+		BigRational big = new BigRational( Long.MAX_VALUE );
+		BigRational result = big .times( big );
+		assertEquals( MAX .multiply( MAX ), result .getNumerator() );
+		assertEquals( BigInteger.ONE, result .getDenominator() );
+
+		BigRational x = new BigRational( 3037000500l, 3037000499l );
+		result = x .times( x );
+		assertEquals( BigInteger .valueOf( 3037000500l ) .pow( 2 ), result .getNumerator() );
+		assertEquals( BigInteger .valueOf( 3037000499l ) .pow( 2 ), result .getDenominator() );
+		assertTrue( result .compareTo( BigRational.ONE ) > 0 );
+	}
+
+	@Test
+	public void testAddOverflow()
+	{
+		BigRational big = new BigRational( Long.MAX_VALUE );
+		BigRational result = big .plus( big );
+		assertEquals( MAX .add( MAX ), result .getNumerator() );
+
+		result = new BigRational( Long.MAX_VALUE - 1, Long.MAX_VALUE ) .plus( new BigRational( 1, Long.MAX_VALUE - 1 ) );
+		BigInteger expectedNum = MAX .subtract( BigInteger.ONE ) .pow( 2 ) .add( MAX );
+		BigInteger expectedDen = MAX .multiply( MAX .subtract( BigInteger.ONE ) );
+		assertEquals( new BigRational( expectedNum, expectedDen ), result );
+	}
+
+	@Test
+	public void testMinValue()
+	{
+		BigRational min = new BigRational( Long.MIN_VALUE );
+		assertEquals( BigInteger .valueOf( Long.MIN_VALUE ), min .getNumerator() );
+		assertEquals( BigInteger .valueOf( Long.MIN_VALUE ) .negate(), min .negate() .getNumerator() );
+		assertEquals( new BigRational( Long.MIN_VALUE / 2 ), new BigRational( Long.MIN_VALUE, 2 ) );
+		assertEquals( new BigRational( -1, 2 ), new BigRational( Long.MIN_VALUE / 2, Long.MIN_VALUE ) .negate() );
+		assertEquals( new BigRational( Long.MIN_VALUE ), new BigRational( Long.MIN_VALUE + 1 ) .minus( BigRational.ONE ) );
+		assertTrue( min .compareTo( new BigRational( Long.MIN_VALUE + 1 ) ) < 0 );
+	}
+
+	@Test
+	public void testDemotion()
+	{
+		BigRational big = new BigRational( Long.MAX_VALUE );
+		BigRational product = big .times( big );
+		BigRational quotient = product .divides( big );
+		assertEquals( big, quotient );
+		assertEquals( big .toString(), quotient .toString() );
+		assertEquals( BigRational.ZERO, product .minus( product ) );
+		assertTrue( product .minus( product ) .isZero() );
+	}
+
+	@Test
+	public void testCompareLarge()
+	{
+		BigRational a = new BigRational( Long.MAX_VALUE, Long.MAX_VALUE - 2 );
+		BigRational b = new BigRational( Long.MAX_VALUE - 1, Long.MAX_VALUE - 3 );
+		// a = 1 + 2/(M-2), b = 1 + 2/(M-3), so a < b
+		assertTrue( a .compareTo( b ) < 0 );
+		assertTrue( b .compareTo( a ) > 0 );
+		assertTrue( a .negate() .compareTo( b .negate() ) > 0 );
+	}
+
+	@Test
+	public void testExactSmallArithmetic()
+	{
+		assertEquals( new BigRational( 5, 6 ), new BigRational( 1, 2 ) .plus( new BigRational( 1, 3 ) ) );
+		assertEquals( BigRational.ONE, new BigRational( 8, 9 ) .plus( new BigRational( 1, 9 ) ) );
+		assertEquals( new BigRational( 1073741789, 12 ), new BigRational( 1073741789, 20 ) .plus( new BigRational( 1073741789, 30 ) ) );
+		assertEquals( new BigRational( 841, 961 ), new BigRational( 3037141, 3247033 ) .times( new BigRational( 3037547, 3246599 ) ) );
+		assertEquals( new BigRational( -1, 3 ), new BigRational( 1, 6 ) .minus( new BigRational( -4, -8 ) ) );
+		assertEquals( new BigRational( -1, 600000000 ), new BigRational( -1, 200000000 ) .plus( new BigRational( 1, 300000000 ) ) );
+		assertEquals( BigRational.ZERO, new BigRational( 1, 6 ) .minus( new BigRational( 2, 12 ) ) );
+		assertEquals( new BigRational( -3, 2 ), new BigRational( -2, 3 ) .reciprocal() );
+	}
+
+	@Test
+	public void testEqualsAndHashCode()
+	{
+		BigRational big = new BigRational( Long.MAX_VALUE );
+		BigRational a = big .times( big ) .divides( big );
+		assertEquals( big, a );
+		assertEquals( big .hashCode(), a .hashCode() );
+
+		BigRational b = new BigRational( "85070591730234615847396907784232501249/3" );
+		BigRational c = new BigRational( MAX .multiply( MAX ), BigInteger .valueOf( 3 ) );
+		assertEquals( b, c );
+		assertEquals( b .hashCode(), c .hashCode() );
+		assertNotEquals( b, c .negate() );
+
+		assertEquals( new BigRational( 2, 4 ), new BigRational( -1, -2 ) );
+		assertEquals( new BigRational( 2, 4 ) .hashCode(), new BigRational( -1, -2 ) .hashCode() );
+		assertTrue( new BigRational( 3, 7 ) .minus( new BigRational( 3, 7 ) ) .isZero() );
+		assertTrue( new BigRational( 3, 7 ) .divides( new BigRational( 6, 14 ) ) .isOne() );
+		assertFalse( c .isZero() );
+		assertFalse( c .isOne() );
+		assertTrue( c .isPositive() );
+		assertTrue( c .negate() .isNegative() );
+	}
+}
@@ -0,0 +1,35 @@
+package com.vzome.core.editor;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.vzome.core.exporters.Exporter3d;
+
+public class ApplicationTest {
+
+	@Test
+	public void testLazyLoading() throws Exception
+	{
+		Application app = new Application( false, null, null );
+		assertEquals( "", app .getLoadReport() );
+
+		Exporter3d stl = app .getExporter( "stl" );
+		assertNotNull( stl );
+		assertSame( stl, app .getExporter( "stl" ) );
+		assertNull( app .getExporter( "no such format" ) );
+
+		app .warmUp( "golden", "no such field" ) .get();
+		String report = app .getLoadReport();
+		assertTrue( report .startsWith( "exporter stl: " ) );
+		assertTrue( report .contains( "field golden: " ) );
+		assertTrue( report .contains( "connector shape for golden: " ) );
+		assertFalse( report .contains( "rootTwo" ) );
+
+		FieldApplication golden = app .getDocumentKind( "golden" );
+		assertSame( golden .getQuaternionSymmetry( "H_4" ), golden .getQuaternionSymmetry( "H_4" ) );
+		assertNotNull( golden .getDefaultSymmetryPerspective() .getLegacyCommand( "h4symmetry" ) );
+		assertSame( golden .getDefaultSymmetryPerspective() .getLegacyCommand( "IxTsymmetry" ),
+				golden .getDefaultSymmetryPerspective() .getLegacyCommand( "IxTsymmetry" ) );
+	}
+}
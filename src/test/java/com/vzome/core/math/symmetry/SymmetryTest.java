@@ -3,13 +3,26 @@
 
 package com.vzome.core.math.symmetry;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.Arrays;
+import java.util.Properties;
 
 import junit.framework.TestCase;
 
+import com.vzome.core.algebra.AlgebraicField;
+import com.vzome.core.algebra.AlgebraicNumber;
 import com.vzome.core.algebra.AlgebraicVector;
+import com.vzome.core.algebra.AlgebraicVectors;
 import com.vzome.core.algebra.PentagonField;
+import com.vzome.core.editor.FieldApplication.SymmetryPerspective;
+import com.vzome.core.editor.SymmetrySystem;
+import com.vzome.core.kinds.GoldenFieldApplication;
 import com.vzome.core.math.RealVector;
+import com.vzome.core.render.Colors;
 
 public class SymmetryTest extends TestCase
 {
@@ -164,4 +177,82 @@ public class SymmetryTest extends TestCase
         greenSubgroup = symm .subgroup( "green", greenZone );
         assertTrue( Arrays .equals( blueSubgroup, greenSubgroup ) );
     }
+
+    public void testGetAxisByDirectionKey()
+    {
+        PentagonField field = new PentagonField();
+        IcosahedralSymmetry symm = new IcosahedralSymmetry( field, null );
+        AlgebraicNumber scale = field .createAlgebraicNumber( 3, 2, 7, 0 ); // (3+2phi)/7, positive
+        OrbitSet blueOnly = new OrbitSet( symm );
+        blueOnly .add( symm .getDirection( "blue" ) );
+        for ( String name : new String[]{ "blue", "red", "yellow", "green" } ) {
+            Direction orbit = symm .getDirection( name );
+            for ( Axis axis : orbit ) {
+                AlgebraicVector normal = axis .normal();
+                assertSame( axis, orbit .getAxis( normal .scale( scale ) ) );
+                assertSame( axis, symm .getAxis( normal .scale( scale ) ) );
+                // second time from the cache
+                assertSame( axis, symm .getAxis( normal ) );
+                Axis opposite = orbit .getAxis( normal .negate() );
+                assertTrue( opposite .normal() .equals( normal .negate() ) );
+                assertSame( opposite, symm .getAxis( normal .negate() .scale( scale ) ) );
+                assertEquals( name .equals( "blue" )? axis : null, symm .getAxis( normal, blueOnly ) );
+            }
+        }
+        assertEquals( AlgebraicVectors .getDirectionKey( field .basisVector( 3, AlgebraicVector.Y ) .negate() ),
+                AlgebraicVectors .getDirectionKey( field .basisVector( 3, AlgebraicVector.Y ) .scale( scale .negate() ) ) );
+        assertNull( symm .getDirection( "blue" ) .getAxis( field .origin( 3 ) ) );
+    }
+
+    public void testAutomaticOrbitsNotCached()
+    {
+        GoldenFieldApplication app = new GoldenFieldApplication();
+        AlgebraicField field = app .getField();
+        SymmetryPerspective perspective = app .getDefaultSymmetryPerspective();
+        AbstractSymmetry symm = (AbstractSymmetry) perspective .getSymmetry();
+        AlgebraicVector vector = field .basisVector( 3, AlgebraicVector.X ) .plus( field .basisVector( 3, AlgebraicVector.Y ) .scale( field .createRational( 3 ) ) );
+        AlgebraicVector key = AlgebraicVectors .getDirectionKey( vector );
+        // two documents sharing the symmetry, each with its own automatic orbit for the vector
+        for ( int i = 0; i < 2; i++ ) {
+            SymmetrySystem sys = new SymmetrySystem( null, perspective, null, new Colors( new Properties() ), true );
+            Axis axis = sys .getAxis( vector );
+            assertTrue( axis .getOrbit() .isAutomatic() );
+            assertSame( axis, sys .getAxis( vector .scale( field .createPower( 1 ) ) ) );
+            assertEquals( 0, symm .getCachedAxisCount( key ) );
+        }
+        // registered orbits are still cached
+        Axis blue = symm .getDirection( "blue" ) .getAxis( Symmetry.PLUS, 0 );
+        assertSame( blue, symm .getAxis( blue .normal() ) );
+        assertEquals( 1, symm .getCachedAxisCount( AlgebraicVectors .getDirectionKey( blue .normal() ) ) );
+    }
+
+    public void testSymmetryTables() throws IOException
+    {
+        IcosahedralSymmetry symm = new IcosahedralSymmetry( new PentagonField(), null );
+        int order = symm .getChiralOrder();
+        Permutation[] orientations = new Permutation[ order ];
+        for ( int i = 0; i < order; i++ )
+            orientations[ i ] = symm .getPermutation( i );
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SymmetryTables .write( orientations, new DataOutputStream( bytes ) );
+        int[][] table = SymmetryTables .read( new DataInputStream( new ByteArrayInputStream( bytes .toByteArray() ) ) );
+        assertTrue( SymmetryTables .validate( table, orientations ) );
+
+        // the generators from createInitialPermutations() are enough to validate the whole group
+        Permutation[] generators = new Permutation[ order ];
+        for ( int i : new int[]{ 0, 1, 3, 15 } )
+            generators[ i ] = orientations[ i ];
+        assertTrue( SymmetryTables .validate( table, generators ) );
+
+        // swapping two images keeps every row a permutation, but not the closure
+        int[] row = table[ 7 ];
+        int temp = row[ 3 ];
+        row[ 3 ] = row[ 4 ];
+        row[ 4 ] = temp;
+        assertFalse( SymmetryTables .validate( table, generators ) );
+
+        byte[] damaged = bytes .toByteArray();
+        damaged[ 0 ] = 0;
+        assertNull( SymmetryTables .read( new DataInputStream( new ByteArrayInputStream( damaged ) ) ) );
+    }
 }
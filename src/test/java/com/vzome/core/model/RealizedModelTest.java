@@ -0,0 +1,362 @@
+package com.vzome.core.model;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.vzome.core.algebra.AlgebraicField;
+import com.vzome.core.algebra.AlgebraicVector;
+import com.vzome.core.algebra.AlgebraicVectors;
+import com.vzome.core.algebra.PentagonField;
+import com.vzome.core.construction.FreePoint;
+import com.vzome.core.math.Projection;
+import com.vzome.core.render.Color;
+import com.vzome.core.render.RenderedManifestation;
+
+public class RealizedModelTest {
+
+	@Test
+	public void testIncidences()
+	{
+		AlgebraicField field = new PentagonField();
+		RealizedModel realized = new RealizedModel( field, new Projection .Default( field ) );
+		AlgebraicVector origin = field .origin( 3 );
+		AlgebraicVector x = field .basisVector( 3, AlgebraicVector.X );
+		AlgebraicVector y = field .basisVector( 3, AlgebraicVector.Y );
+
+		Connector end = new Connector( x );
+		Strut strut = new Strut( origin, x );
+		Panel panel = new Panel( Arrays .asList( origin, x, y ) );
+		Connector start = new Connector( origin );
+		realized .add( end );
+		realized .add( strut );
+		realized .add( panel );
+		realized .add( start );
+
+		assertEquals( Arrays .asList( strut, panel, start ), realized .getIncidentManifestations( origin ) );
+		assertEquals( Arrays .asList( end, strut, panel ), realized .getIncidentManifestations( x ) );
+		assertEquals( Arrays .asList( panel ), realized .getIncidentManifestations( y ) );
+		assertTrue( realized .getIncidentManifestations( x .plus( y ) ) .isEmpty() );
+
+		assertSame( start, realized .getConnector( origin ) );
+		assertNull( realized .getConnector( y ) );
+		// model order, not argument order
+		assertEquals( Arrays .asList( end, start ), realized .getConnectors( origin, x ) );
+		assertSame( start, realized .getManifestation( new FreePoint( origin ) ) );
+		assertNull( realized .getManifestation( new FreePoint( y ) ) );
+
+		realized .remove( new Strut( x, origin ) );
+		assertEquals( Arrays .asList( panel, start ), realized .getIncidentManifestations( origin ) );
+		realized .remove( panel );
+		realized .remove( end );
+		assertTrue( realized .getIncidentManifestations( x ) .isEmpty() );
+		assertTrue( realized .getIncidentManifestations( y ) .isEmpty() );
+		assertEquals( Arrays .asList( start ), realized .getIncidentManifestations( origin ) );
+	}
+
+	@Test
+	public void testConnectedComponents()
+	{
+		AlgebraicField field = new PentagonField();
+		RealizedModel realized = new RealizedModel( field, new Projection .Default( field ) );
+		AlgebraicVector origin = field .origin( 3 );
+		AlgebraicVector x = field .basisVector( 3, AlgebraicVector.X );
+		AlgebraicVector y = field .basisVector( 3, AlgebraicVector.Y );
+		AlgebraicVector z = field .basisVector( 3, AlgebraicVector.Z );
+		AlgebraicVector far = z .scale( field .createPower( 3 ) );
+
+		Connector a = new Connector( origin );
+		Strut ax = new Strut( origin, x );
+		Connector b = new Connector( x );
+		Panel xyz = new Panel( Arrays .asList( x, y, z ) );
+		Connector c = new Connector( z );
+		Connector lonely = new Connector( far );
+		Strut ay = new Strut( origin, y );
+		for ( Manifestation m : Arrays .asList( a, ax, b, xyz, c, lonely, ay ) )
+			realized .add( m );
+
+		IncidenceGraph graph = realized .getIncidenceGraph();
+		assertEquals( 2, graph .getDegree( origin ) );
+		assertEquals( 1, graph .getDegree( y ) );
+		assertEquals( 0, graph .getDegree( far ) );
+		assertEquals( Arrays .asList( ax, ay ), graph .getStruts( origin ) );
+
+		assertEquals( 2, graph .countComponents( m -> true ) );
+		assertEquals( Arrays .asList( lonely ), graph .getConnectedComponents( Arrays .asList( lonely ), m -> true ) );
+		assertEquals( 6, graph .getConnectedComponents( Arrays .asList( c ), m -> true ) .size() );
+		// without the panel, the ball at z is on its own
+		assertEquals( 3, graph .countComponents( m -> m != xyz ) );
+		assertEquals( 4, graph .getConnectedComponents( Arrays .asList( b ), m -> m != xyz ) .size() );
+
+		realized .remove( ax );
+		realized .remove( ay );
+		assertEquals( 0, graph .getDegree( origin ) );
+		assertEquals( 3, graph .countComponents( m -> true ) );
+		// ids are recycled
+		realized .add( new Strut( far, origin ) );
+		assertEquals( 2, graph .countComponents( m -> true ) );
+	}
+
+	@Test
+	public void testStoreMatchesLinkedHashSet()
+	{
+		AlgebraicField field = new PentagonField();
+		RealizedModel realized = new RealizedModel( field, new Projection .Default( field ) );
+		LinkedHashSet<Manifestation> expected = new LinkedHashSet<>();
+		Random random = new Random( 3 );
+		for ( int n = 0; n < 5000; n++ ) {
+			AlgebraicVector a = field .createVector( new int[]{ random .nextInt( 5 ), 1, random .nextInt( 5 ), 1, random .nextInt( 3 ), 1 } );
+			AlgebraicVector b = field .createVector( new int[]{ random .nextInt( 5 ), 1, random .nextInt( 5 ), 1, 3, 1 } );
+			Manifestation m = random .nextBoolean()? new Connector( a ) : new Strut( a, b );
+			if ( random .nextInt( 3 ) == 0 ) {
+				// look up an equal but distinct instance, as ChangeManifestations does
+				expected .remove( m );
+				realized .remove( random .nextBoolean()? m : reversed( m ) );
+			}
+			else if ( ! expected .contains( m ) ) {
+				expected .add( m );
+				realized .add( m );
+			}
+			assertEquals( expected .size(), realized .size() );
+		}
+		List<Manifestation> actual = new ArrayList<>();
+		for ( Manifestation m : realized )
+			actual .add( m );
+		assertEquals( new ArrayList<>( expected ), actual );
+		for ( Manifestation m : expected )
+			assertSame( m, realized .getIncidentManifestations( m instanceof Strut? ( (Strut) m ) .getEnd() : m .getLocation() ) .stream() .filter( m::equals ) .findFirst() .get() );
+	}
+
+	private static Manifestation reversed( Manifestation m )
+	{
+		if ( m instanceof Strut )
+			return new Strut( ( (Strut) m ) .getEnd(), ( (Strut) m ) .getLocation() );
+		return new Connector( m .getLocation() );
+	}
+
+	@Test
+	public void testIdsPerModel()
+	{
+		AlgebraicField field = new PentagonField();
+		RealizedModel first = new RealizedModel( field, new Projection .Default( field ) );
+		RealizedModel second = new RealizedModel( field, new Projection .Default( field ) );
+		AlgebraicVector x = field .basisVector( 3, AlgebraicVector.X );
+		Connector a = new Connector( field .origin( 3 ) );
+		Connector b = new Connector( x );
+		Connector c = new Connector( x .negate() );
+		first .add( a );
+		first .add( b );
+		second .add( c );
+
+		assertEquals( 0, a .getId( first .getIdSpace() ) );
+		assertEquals( 1, b .getId( first .getIdSpace() ) );
+		assertEquals( 0, c .getId( second .getIdSpace() ) );
+		// ids are stable until reset
+		assertEquals( 0, a .getId( first .getIdSpace() ) );
+
+		first .resetIds();
+		assertEquals( 0, b .getId( first .getIdSpace() ) );
+		assertEquals( 1, a .getId( first .getIdSpace() ) );
+		// the other model is untouched
+		assertEquals( 0, c .getId( second .getIdSpace() ) );
+		assertEquals( 1, new Connector( x .scale( field .createPower( 1 ) ) ) .getId( second .getIdSpace() ) );
+	}
+
+	@Test
+	public void testLineIndexMatchesScan()
+	{
+		AlgebraicField field = new PentagonField();
+		RealizedModel realized = new RealizedModel( field, new Projection .Default( field ) );
+		Random random = new Random( 7 );
+		List<Strut> references = new ArrayList<>();
+		for ( int n = 0; n < 3000; n++ ) {
+			AlgebraicVector a = randomVector( field, random );
+			AlgebraicVector b = randomVector( field, random );
+			Manifestation m = ( random .nextBoolean() || a .equals( b ) )? new Connector( a ) : new Strut( a, b );
+			if ( random .nextInt( 4 ) == 0 )
+				realized .remove( m );
+			else
+				realized .add( m );
+			if ( m instanceof Strut && references .size() < 10 )
+				references .add( (Strut) m );
+			// query now and then, so the connector groups are maintained while the model changes
+			if ( n % 500 == 0 )
+				realized .getLineIndex() .getCollinearConnectors( a, a .plus( field .basisVector( 3, AlgebraicVector.Z ) ) );
+		}
+		LineIndex lines = realized .getLineIndex();
+		for ( Strut reference : references ) {
+			AlgebraicVector start = reference .getLocation(), end = reference .getEnd();
+			List<Strut> collinear = new ArrayList<>(), parallel = new ArrayList<>();
+			List<Connector> balls = new ArrayList<>();
+			for ( Manifestation m : realized ) {
+				if ( m instanceof Connector && AlgebraicVectors .areCollinear( m .getLocation(), start, end ) )
+					balls .add( (Connector) m );
+				else if ( m instanceof Strut ) {
+					Strut strut = (Strut) m;
+					if ( AlgebraicVectors .areParallel( strut .getOffset(), reference .getOffset() ) ) {
+						parallel .add( strut );
+						if ( AlgebraicVectors .areCollinear( strut .getLocation(), start, end ) )
+							collinear .add( strut );
+					}
+				}
+			}
+			assertEquals( collinear, lines .getCollinearStruts( start, end ) );
+			assertEquals( collinear, lines .getCollinearStruts( end, start ) );
+			assertEquals( balls, lines .getCollinearConnectors( end, start ) );
+			assertEquals( parallel, lines .getParallelStruts( reference .getOffset() .negate() ) );
+			assertEquals( parallel, lines .getStruts( s -> AlgebraicVectors .areParallel( s .getOffset(), reference .getOffset() ) ) );
+		}
+	}
+
+	@Test
+	public void testConnectorLinesPastTheCap()
+	{
+		AlgebraicField field = new PentagonField();
+		RealizedModel realized = new RealizedModel( field, new Projection .Default( field ) );
+		AlgebraicVector origin = field .origin( 3 );
+		realized .add( new Connector( origin ) );
+		LineIndex lines = realized .getLineIndex();
+		// more directions than the index keeps grouped, none with struts
+		int count = 40;
+		AlgebraicVector[] directions = new AlgebraicVector[ count ];
+		for ( int k = 0; k < count; k++ ) {
+			directions[ k ] = field .basisVector( 3, AlgebraicVector.X ) .plus( field .basisVector( 3, AlgebraicVector.Y ) .scale( field .createRational( k ) ) );
+			assertEquals( 1, lines .getCollinearConnectors( origin, directions[ k ] ) .size() );
+		}
+		// the grouping evicted at the cap is in the index, and counted once
+		assertEquals( count - 32, lines .connectorZoneCount() );
+
+		// later changes keep the latest groups current
+		AlgebraicVector last = directions[ count - 1 ];
+		Connector far = new Connector( last .scale( field .createRational( 2 ) ) );
+		realized .add( far );
+		assertEquals( 2, lines .getCollinearConnectors( origin, last ) .size() );
+		realized .remove( far );
+		assertEquals( 1, lines .getCollinearConnectors( origin, last ) .size() );
+		assertEquals( count - 32, lines .connectorZoneCount() );
+	}
+
+	@Test
+	public void testProjectionIndexMatchesExact()
+	{
+		AlgebraicField field = new PentagonField();
+		RealizedModel realized = new RealizedModel( field, new Projection .Default( field ) );
+		Random random = new Random( 13 );
+		List<AlgebraicVector> points = new ArrayList<>();
+		for ( int n = 0; n < 2000; n++ ) {
+			AlgebraicVector a = randomVector( field, random );
+			AlgebraicVector b = randomVector( field, random );
+			points .add( a );
+			realized .add( ( random .nextBoolean() || a .equals( b ) )? new Connector( a ) : new Strut( a, b ) );
+		}
+		ProjectionIndex index = realized .getProjectionIndex();
+		for ( int trial = 0; trial < 20; trial++ ) {
+			AlgebraicVector anchor = points .get( random .nextInt( points .size() ) );
+			AlgebraicVector normal = points .get( random .nextInt( points .size() ) ) .minus( anchor )
+					.cross( points .get( random .nextInt( points .size() ) ) .minus( anchor ) );
+			if ( normal .isOrigin() )
+				continue;
+			ProjectionIndex.Plane plane = index .getPlane( normal, anchor );
+			for ( int sides = 1; sides < 8; sides++ ) {
+				boolean below = ( sides & 1 ) != 0, on = ( sides & 2 ) != 0, above = ( sides & 4 ) != 0;
+				List<Manifestation> expected = new ArrayList<>();
+				for ( Manifestation m : realized ) {
+					List<AlgebraicVector> ends = ( m instanceof Strut )? Arrays .asList( m .getLocation(), ( (Strut) m ) .getEnd() ) : Arrays .asList( m .getLocation() );
+					for ( AlgebraicVector end : ends ) {
+						int side = normal .dot( end .minus( anchor ) ) .signum();
+						assertEquals( side, plane .orient( end ) );
+						if ( ( side < 0 && below ) || ( side == 0 && on ) || ( side > 0 && above ) ) {
+							expected .add( m );
+							break;
+						}
+					}
+				}
+				assertEquals( expected, plane .getIncidentManifestations( below, on, above ) );
+			}
+		}
+	}
+
+	@Test
+	public void testBatchedNotifications()
+	{
+		AlgebraicField field = new PentagonField();
+		RealizedModel realized = new RealizedModel( field, new Projection .Default( field ) );
+		List<String> heard = new ArrayList<>();
+		realized .addListener( new ManifestationChanges()
+		{
+			@Override
+			public void manifestationAdded( Manifestation m )
+			{
+				heard .add( "added" );
+				m .setRenderedObject( new RenderedManifestation( m ) );
+			}
+
+			@Override
+			public void manifestationRemoved( Manifestation m )
+			{
+				heard .add( "removed" );
+				m .setRenderedObject( null );
+			}
+
+			@Override
+			public void manifestationColored( Manifestation m, Color color )
+			{
+				heard .add( "colored" );
+			}
+
+			@Override
+			public void manifestationsAdded( Collection<Manifestation> added )
+			{
+				heard .add( "added " + added .size() );
+				for ( Manifestation m : added )
+					m .setRenderedObject( new RenderedManifestation( m ) );
+			}
+
+			@Override
+			public void colorsChanged( Map<Manifestation, Color> colors )
+			{
+				heard .add( "colored " + colors .size() );
+			}
+		} );
+		AlgebraicVector x = field .basisVector( 3, AlgebraicVector.X );
+		Connector a = new Connector( field .origin( 3 ) );
+		Connector b = new Connector( x );
+		Connector c = new Connector( x .negate() );
+		realized .add( a );
+		realized .show( a );
+		assertEquals( Arrays .asList( "added" ), heard );
+		heard .clear();
+
+		realized .startBatch();
+		realized .add( b );
+		realized .add( c );
+		realized .show( b );
+		realized .startBatch(); // nested
+		realized .show( c );
+		realized .hide( a );
+		realized .endBatch();
+		realized .setColor( b, Color.WHITE );
+		realized .show( a ); // cancels the hide
+		realized .hide( c ); // cancels the show
+		assertTrue( heard .isEmpty() );
+		assertFalse( b .isRendered() );
+		realized .endBatch();
+		assertEquals( Arrays .asList( "added 1", "colored 1" ), heard );
+		assertTrue( a .isRendered() );
+		assertTrue( b .isRendered() );
+		assertFalse( c .isRendered() );
+	}
+
+	private static AlgebraicVector randomVector( AlgebraicField field, Random random )
+	{
+		return field .createVector( new int[]{ random .nextInt( 4 ), 1, random .nextInt( 2 ), 1, random .nextInt( 4 ), 1, 0, 1, random .nextInt( 2 ), 1, 0, 1 } );
+	}
+}
@@ -2,9 +2,20 @@ package com.vzome.core.render;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Properties;
+import java.util.Set;
 
 import org.junit.Test;
 
@@ -14,11 +25,15 @@ import com.vzome.core.algebra.HeptagonField;
 import com.vzome.core.editor.FieldApplication.SymmetryPerspective;
 import com.vzome.core.editor.SymmetrySystem;
 import com.vzome.core.kinds.HeptagonFieldApplication;
+import com.vzome.core.math.Projection;
 import com.vzome.core.math.RealVector;
 import com.vzome.core.math.symmetry.Axis;
 import com.vzome.core.math.symmetry.Direction;
 import com.vzome.core.math.symmetry.OrbitSet;
 import com.vzome.core.math.symmetry.Symmetry;
+import com.vzome.core.model.Connector;
+import com.vzome.core.model.Manifestation;
+import com.vzome.core.model.RealizedModel;
 import com.vzome.core.model.Strut;
 
 /**
@@ -171,4 +186,366 @@ public class RenderedModelTest
 	    strut = new Strut( origin, expected .normal() );
 		model .manifestationAdded( strut );
 	}
+
+	@Test
+	public void testOrbitIndex()
+	{
+		HeptagonFieldApplication app = new HeptagonFieldApplication();
+		HeptagonField field = (HeptagonField) app .getField();
+		AlgebraicVector origin = field .origin( 3 );
+		SymmetrySystem sys = new SymmetrySystem( null, app .getDefaultSymmetryPerspective(), null, new Colors( new Properties() ), true );
+		RenderedModel model = new RenderedModel( field, sys );
+		RealizedModel realized = new RealizedModel( field, new Projection .Default( field ) );
+		realized .addListener( model );
+
+		Direction orbit = sys .getOrbits() .iterator() .next();
+		AlgebraicNumber longer = field .createPower( 1 );
+		List<Strut> shorts = new ArrayList<>(), longs = new ArrayList<>();
+		for ( Axis axis : orbit ) {
+			Strut strut = new Strut( origin, axis .normal() );
+			Strut longStrut = new Strut( axis .normal(), axis .normal() .plus( axis .normal() .scale( longer ) ) );
+			for ( Strut m : Arrays .asList( strut, longStrut ) ) {
+				realized .add( m );
+				realized .show( m );
+			}
+			shorts .add( strut );
+			longs .add( longStrut );
+		}
+		AlgebraicNumber unit = sys .getAxis( shorts .get( 0 ) .getOffset() ) .getLength( shorts .get( 0 ) .getOffset() );
+		assertEquals( shorts, model .getSimilarStruts( sys, orbit, unit ) );
+		assertEquals( longs, model .getSimilarStruts( sys, orbit, unit .times( longer ) ) );
+		assertEquals( 2 * shorts .size(), model .getSimilarStruts( sys, orbit, null ) .size() );
+		assertEquals( Integer .valueOf( longs .size() ), model .getStrutCounts() .get( orbit ) .get( unit .times( longer ) ) );
+		// a different orbit source must look for itself
+		assertNull( model .getSimilarStruts( new SymmetrySystem( null, app .getDefaultSymmetryPerspective(), null, new Colors( new Properties() ), true ), orbit, unit ) );
+
+		for ( Strut strut : longs )
+			realized .hide( strut );
+		assertTrue( model .getSimilarStruts( sys, orbit, unit .times( longer ) ) .isEmpty() );
+		assertEquals( 1, model .getStrutCounts() .get( orbit ) .size() );
+	}
+
+	@Test
+	public void testStrutLengthsAreRemembered()
+	{
+		HeptagonFieldApplication app = new HeptagonFieldApplication();
+		HeptagonField field = (HeptagonField) app .getField();
+		AlgebraicVector origin = field .origin( 3 );
+		SymmetrySystem sys = new SymmetrySystem( null, app .getDefaultSymmetryPerspective(), null, new Colors( new Properties() ), true );
+		RenderedModel model = new RenderedModel( field, sys );
+		RealizedModel realized = new RealizedModel( field, new Projection .Default( field ) );
+		realized .addListener( model );
+
+		Direction orbit = sys .getOrbits() .iterator() .next();
+		int count = 0;
+		for ( Axis axis : orbit ) {
+			Strut strut = new Strut( origin, axis .normal() );
+			realized .add( strut );
+			realized .show( strut );
+			++count;
+		}
+		assertEquals( count, sys .getLengthCacheMisses() );
+		long hits = sys .getLengthCacheHits();
+
+		// re-rendering measures each strut again, from the cache
+		model .setOrbitSource( sys );
+		assertEquals( count, sys .getLengthCacheMisses() );
+		assertEquals( hits + count, sys .getLengthCacheHits() );
+		for ( Axis axis : orbit ) {
+			AlgebraicVector offset = axis .normal();
+			assertEquals( axis .getLength( offset ), sys .getLength( offset ) );
+			assertEquals( orbit .getLengthInUnits( axis .getLength( offset ) ), sys .getLengthInUnits( offset ) );
+		}
+
+		// a new orbit forgets the lengths
+		sys .createAnonymousOrbit( field .basisVector( 3, AlgebraicVector.X ) .plus( field .basisVector( 3, AlgebraicVector.Y ) .scale( field .createRational( 3 ) ) ) );
+		sys .getLength( orbit .getAxis( Symmetry.PLUS, 0 ) .normal() );
+		assertEquals( count + 1, sys .getLengthCacheMisses() );
+	}
+
+	@Test
+	public void testRenderChange()
+	{
+		HeptagonFieldApplication app = new HeptagonFieldApplication();
+		HeptagonField field = (HeptagonField) app .getField();
+		AlgebraicVector origin = field .origin( 3 );
+		SymmetrySystem sys = new SymmetrySystem( null, app .getDefaultSymmetryPerspective(), null, new Colors( new Properties() ), true );
+		RenderedModel model = new RenderedModel( field, sys );
+		RealizedModel realized = new RealizedModel( field, new Projection .Default( field ) );
+		realized .addListener( model );
+
+		List<Strut> struts = new ArrayList<>();
+		for ( int power = 0; struts .size() < 12; power++ )
+			for ( Axis axis : sys .getOrbits() .iterator() .next() ) {
+				Strut strut = new Strut( origin, axis .normal() .scale( field .createPower( power ) ) );
+				realized .add( strut );
+				struts .add( strut );
+			}
+		List<RenderedManifestation> rms = new ArrayList<>();
+		for ( Strut strut : struts ) {
+			realized .show( strut );
+			rms .add( strut .getRenderedObject() );
+		}
+		for ( Strut strut : struts .subList( 8, 12 ) )
+			realized .hide( strut );
+		RenderedModel from = model .snapshot();
+		for ( Strut strut : struts .subList( 0, 4 ) )
+			realized .hide( strut );
+		for ( Strut strut : struts .subList( 8, 12 ) )
+			realized .show( strut );
+		Color color = new Color( 1, 2, 3 );
+		model .setManifestationColor( struts .get( 5 ), color );
+		RenderedModel to = model .snapshot();
+
+		List<RenderedManifestation> removed = new ArrayList<>(), added = new ArrayList<>(), switched = new ArrayList<>(), colored = new ArrayList<>();
+		RenderedModel .renderChange( from, to, new RenderingChanges()
+		{
+			@Override
+			public void manifestationAdded( RenderedManifestation rm )
+			{
+				assertTrue( removed .size() == 4 && switched .isEmpty() );
+				added .add( rm );
+			}
+
+			@Override
+			public void manifestationRemoved( RenderedManifestation rm )
+			{
+				assertTrue( added .isEmpty() );
+				removed .add( rm );
+			}
+
+			@Override
+			public void manifestationSwitched( RenderedManifestation fromRm, RenderedManifestation toRm )
+			{
+				assertEquals( fromRm, toRm );
+				switched .add( toRm );
+			}
+
+			@Override
+			public void colorChanged( RenderedManifestation rm )
+			{
+				colored .add( rm );
+			}
+
+			@Override
+			public void glowChanged( RenderedManifestation rm )
+			{
+				fail( "should not be called" );
+			}
+
+			@Override
+			public void reset() {}
+
+			@Override
+			public void locationChanged( RenderedManifestation rm ) {}
+
+			@Override
+			public void orientationChanged( RenderedManifestation rm ) {}
+
+			@Override
+			public void shapeChanged( RenderedManifestation rm ) {}
+		} );
+		assertEquals( new HashSet<>( rms .subList( 0, 4 ) ), new HashSet<>( removed ) );
+		assertEquals( new HashSet<>( rms .subList( 8, 12 ) ), new HashSet<>( added ) );
+		assertEquals( new HashSet<>( rms .subList( 4, 8 ) ), new HashSet<>( switched ) );
+		assertEquals( 1, colored .size() );
+		assertEquals( color, colored .get( 0 ) .getColor() );
+	}
+
+	@Test
+	public void testSnapshotsShareStructure()
+	{
+		HeptagonFieldApplication app = new HeptagonFieldApplication();
+		HeptagonField field = (HeptagonField) app .getField();
+		AlgebraicVector origin = field .origin( 3 );
+		SymmetrySystem sys = new SymmetrySystem( null, app .getDefaultSymmetryPerspective(), null, new Colors( new Properties() ), true );
+		RenderedModel model = new RenderedModel( field, sys );
+		RealizedModel realized = new RealizedModel( field, new Projection .Default( field ) );
+		realized .addListener( model );
+
+		List<Strut> struts = new ArrayList<>();
+		for ( int power = 0; struts .size() < 300; power++ )
+			for ( Direction orbit : sys .getOrbits() )
+				for ( Axis axis : orbit ) {
+					Strut strut = new Strut( origin, axis .normal() .scale( field .createPower( power ) ) );
+					realized .add( strut );
+					realized .show( strut );
+					struts .add( strut );
+				}
+		Set<RenderedManifestation> live = new HashSet<>();
+		for ( RenderedManifestation rm : model )
+			live .add( rm );
+		RenderedModel first = model .snapshot();
+		Set<RenderedManifestation> frozen = new HashSet<>();
+		for ( RenderedManifestation rm : first )
+			frozen .add( rm );
+		assertEquals( live, frozen );
+
+		realized .hide( struts .get( 17 ) );
+		Color color = new Color( 1, 2, 3 );
+		model .setManifestationColor( struts .get( 18 ), color );
+		RenderedModel second = model .snapshot();
+		Set<RenderedManifestation> shared = Collections .newSetFromMap( new IdentityHashMap<>() );
+		for ( RenderedManifestation rm : first )
+			shared .add( rm );
+		int count = 0;
+		for ( RenderedManifestation rm : second ) {
+			++count;
+			if ( ! shared .contains( rm ) )
+				assertEquals( color, rm .getColor() ); // the only new copy
+		}
+		assertEquals( live .size() - 1, count );
+
+		List<RenderedManifestation> events = new ArrayList<>();
+		RenderedModel .renderChange( first, second, new RenderingChanges()
+		{
+			@Override
+			public void manifestationRemoved( RenderedManifestation rm )
+			{
+				events .add( rm );
+			}
+
+			@Override
+			public void colorChanged( RenderedManifestation rm )
+			{
+				assertEquals( color, rm .getColor() );
+				events .add( rm );
+			}
+
+			@Override
+			public void manifestationSwitched( RenderedManifestation fromRm, RenderedManifestation toRm )
+			{
+				// only within the one chunk that changed
+				assertTrue( fromRm == toRm || toRm .getColor() == color );
+			}
+
+			@Override
+			public void manifestationAdded( RenderedManifestation rm )
+			{
+				fail( "should not be called" );
+			}
+
+			@Override
+			public void glowChanged( RenderedManifestation rm )
+			{
+				fail( "should not be called" );
+			}
+
+			@Override
+			public void reset() {}
+
+			@Override
+			public void locationChanged( RenderedManifestation rm ) {}
+
+			@Override
+			public void orientationChanged( RenderedManifestation rm ) {}
+
+			@Override
+			public void shapeChanged( RenderedManifestation rm ) {}
+		} );
+		assertEquals( 2, events .size() );
+		// a snapshot of a snapshot is the same
+		assertEquals( count, toList( second .snapshot() ) .size() );
+	}
+
+	private static List<RenderedManifestation> toList( RenderedModel model )
+	{
+		List<RenderedManifestation> result = new ArrayList<>();
+		for ( RenderedManifestation rm : model )
+			result .add( rm );
+		return result;
+	}
+
+	@Test
+	public void testSetOrbitSourceMatchesFreshRendering()
+	{
+		HeptagonFieldApplication app = new HeptagonFieldApplication();
+		HeptagonField field = (HeptagonField) app .getField();
+		AlgebraicVector origin = field .origin( 3 );
+		List<SymmetrySystem> systems = new ArrayList<>();
+		for ( SymmetryPerspective perspective : app .getSymmetryPerspectives() )
+			systems .add( new SymmetrySystem( null, perspective, null, new Colors( new Properties() ), true ) );
+		SymmetrySystem first = systems .get( 0 ), second = systems .get( 1 );
+		RenderedModel switched = new RenderedModel( field, first );
+		RenderedModel fresh = new RenderedModel( field, second );
+		RealizedModel realized = new RealizedModel( field, new Projection .Default( field ) );
+		realized .addListener( switched );
+
+		List<Manifestation> manifestations = new ArrayList<>();
+		for ( int power = 0; manifestations .size() < 1000; power++ )
+			for ( Direction orbit : first .getOrbits() )
+				for ( Axis axis : orbit ) {
+					AlgebraicVector end = axis .normal() .scale( field .createPower( power ) );
+					for ( Manifestation m : Arrays .asList( new Strut( origin, end ), new Connector( end ) ) ) {
+						realized .add( m );
+						realized .show( m );
+						manifestations .add( m );
+					}
+				}
+		List<RenderedManifestation> added = new ArrayList<>();
+		switched .addListener( new RenderingChanges()
+		{
+			@Override
+			public void manifestationsAdded( Collection<RenderedManifestation> rms )
+			{
+				added .addAll( rms );
+			}
+
+			@Override
+			public void manifestationsRemoved( Collection<RenderedManifestation> rms )
+			{
+				assertTrue( added .isEmpty() );
+			}
+
+			@Override
+			public void manifestationAdded( RenderedManifestation rm )
+			{
+				fail( "should be batched" );
+			}
+
+			@Override
+			public void manifestationRemoved( RenderedManifestation rm )
+			{
+				fail( "should be batched" );
+			}
+
+			@Override
+			public void reset() {}
+
+			@Override
+			public void manifestationSwitched( RenderedManifestation from, RenderedManifestation to ) {}
+
+			@Override
+			public void glowChanged( RenderedManifestation rm ) {}
+
+			@Override
+			public void colorChanged( RenderedManifestation rm ) {}
+
+			@Override
+			public void locationChanged( RenderedManifestation rm ) {}
+
+			@Override
+			public void orientationChanged( RenderedManifestation rm ) {}
+
+			@Override
+			public void shapeChanged( RenderedManifestation rm ) {}
+		} );
+		switched .setOrbitSource( second );
+
+		int rendered = 0;
+		for ( Manifestation m : manifestations ) {
+			RenderedManifestation actual = m .getRenderedObject();
+			fresh .manifestationAdded( m );
+			RenderedManifestation expected = m .getRenderedObject();
+			assertSame( expected .getShape(), actual .getShape() );
+			assertEquals( expected .getOrientation(), actual .getOrientation() );
+			assertEquals( expected .getLocationAV(), actual .getLocationAV() );
+			assertSame( expected .getStrutOrbit(), actual .getStrutOrbit() );
+			assertEquals( expected .getStrutSense(), actual .getStrutSense() );
+			assertEquals( expected .getStrutLength(), actual .getStrutLength() );
+			if ( actual .getShape() != null )
+				++rendered;
+		}
+		assertEquals( rendered, added .size() );
+	}
 }